@@ -0,0 +1,22 @@
+package sn.dev.api_gateway.bff;
+
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+@Configuration
+public class BffRouteConfig {
+
+    // Declared here rather than in the config repository: the route has no upstream, its filter writes the response
+    @Bean
+    RouteLocator bffRoutes(RouteLocatorBuilder builder, ProductPageFilter productPageFilter) {
+        return builder.routes()
+                .route("bff-product-page", route -> route
+                        .method(HttpMethod.GET).and().path("/api/bff/products/{id}")
+                        .filters(filters -> filters.filter(productPageFilter))
+                        .uri("no://op"))
+                .build();
+    }
+}
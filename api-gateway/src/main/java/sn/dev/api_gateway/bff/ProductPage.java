@@ -0,0 +1,44 @@
+package sn.dev.api_gateway.bff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Composed product page document. A part that failed or timed out is null and listed in {@code missing} with
+ * the reason, so the frontend can render what it has and retry the rest on its own.
+ */
+public record ProductPage(JsonNode product, JsonNode seller, JsonNode cart, boolean partial,
+        Map<String, String> missing) {
+
+    /**
+     * Outcome of one downstream call: a body, a failure reason, or neither when the part was not requested.
+     */
+    record Part(JsonNode value, String failure) {
+
+        static final Part SKIPPED = new Part(null, null);
+
+        static Part ok(JsonNode value) {
+            return new Part(value, null);
+        }
+
+        static Part failed(String reason) {
+            return new Part(null, reason);
+        }
+    }
+
+    static ProductPage of(Part product, Part seller, Part cart) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        addFailure(missing, "product", product);
+        addFailure(missing, "seller", seller);
+        addFailure(missing, "cart", cart);
+        return new ProductPage(product.value(), seller.value(), cart.value(), !missing.isEmpty(), missing);
+    }
+
+    private static void addFailure(Map<String, String> missing, String name, Part part) {
+        if (part.failure() != null) {
+            missing.put(name, part.failure());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package sn.dev.api_gateway.bff;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.bff.ProductPage.Part;
+
+/**
+ * Fans the product page calls out concurrently: the product (which embeds its media) and the caller's cart start
+ * together, the seller as soon as the product names it. Each part has its own timeout; only the product is
+ * required, so page latency is bounded by max(product + seller, cart) instead of the sum of every call.
+ */
+@Component
+public class ProductPageAggregator {
+
+    private final WebClient webClient;
+    private final String productServiceUrl;
+    private final String userServiceUrl;
+    private final String orderServiceUrl;
+    private final Duration productTimeout;
+    private final Duration sellerTimeout;
+    private final Duration cartTimeout;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer aggregationTimer;
+
+    @Autowired
+    public ProductPageAggregator(WebClient.Builder webClientBuilder,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+            @Value("${gateway.bff.product-service-url:http://product-service}") String productServiceUrl,
+            @Value("${gateway.bff.user-service-url:http://user-service}") String userServiceUrl,
+            @Value("${gateway.bff.order-service-url:http://order-service}") String orderServiceUrl,
+            @Value("${gateway.bff.timeouts.product:PT2S}") Duration productTimeout,
+            @Value("${gateway.bff.timeouts.seller:PT1S}") Duration sellerTimeout,
+            @Value("${gateway.bff.timeouts.cart:PT1S}") Duration cartTimeout,
+            MeterRegistry meterRegistry) {
+        // Service ids in the URLs are resolved through Eureka, like the lb:// routes
+        this(webClientBuilder.clone().filter(loadBalancer).build(), productServiceUrl, userServiceUrl,
+                orderServiceUrl, productTimeout, sellerTimeout, cartTimeout, meterRegistry);
+    }
+
+    ProductPageAggregator(WebClient webClient, String productServiceUrl, String userServiceUrl,
+            String orderServiceUrl, Duration productTimeout, Duration sellerTimeout, Duration cartTimeout,
+            MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.productServiceUrl = productServiceUrl;
+        this.userServiceUrl = userServiceUrl;
+        this.orderServiceUrl = orderServiceUrl;
+        this.productTimeout = productTimeout;
+        this.sellerTimeout = sellerTimeout;
+        this.cartTimeout = cartTimeout;
+        this.meterRegistry = meterRegistry;
+        this.aggregationTimer = Timer.builder("gateway.bff.aggregation")
+                .tag("page", "product")
+                .description("Time to compose a product page from its parts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param userId verified caller, or null for anonymous requests (no cart is fetched)
+     * @param forwarded credentials passed on to every downstream call
+     */
+    public Mono<ProductPage> aggregate(String productId, String userId, HttpHeaders forwarded) {
+        Mono<Part> product = fetch("product", productServiceUrl + "/api/products/{id}", productId, productTimeout,
+                forwarded).cache();
+        Mono<Part> seller = product.flatMap(part -> {
+            JsonNode sellerId = part.value() == null ? null : part.value().get("userId");
+            if (sellerId == null || !sellerId.isTextual()) {
+                return Mono.just(Part.SKIPPED);
+            }
+            // Public seller card: anonymous visitors get it too, unlike the authenticated user lookup
+            return fetch("seller", userServiceUrl + "/api/users/seller/{id}", sellerId.asText(), sellerTimeout,
+                    forwarded);
+        });
+        Mono<Part> cart = userId == null ? Mono.just(Part.SKIPPED)
+                : fetch("cart", orderServiceUrl + "/api/cart/user/{id}", userId, cartTimeout, forwarded);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return Mono.zip(product, seller, cart)
+                .map(parts -> ProductPage.of(parts.getT1(), parts.getT2(), parts.getT3()))
+                .doFinally(signal -> sample.stop(aggregationTimer));
+    }
+
+    private Mono<Part> fetch(String part, String uriTemplate, String id, Duration timeout, HttpHeaders forwarded) {
+        return webClient.get()
+                .uri(uriTemplate, id)
+                .headers(headers -> headers.addAll(forwarded))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(Part::ok)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(Part.failed("timeout")))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Part.failed("not_found")))
+                .onErrorResume(e -> Mono.just(Part.failed("error")))
+                .defaultIfEmpty(Part.failed("empty"))
+                .doOnNext(result -> counter(part, result.failure() == null ? "ok" : result.failure()).increment());
+    }
+
+    private Counter counter(String part, String result) {
+        return Counter.builder("gateway.bff.parts").tag("part", part).tag("result", result)
+                .description("Product page part fetches by outcome").register(meterRegistry);
+    }
+}
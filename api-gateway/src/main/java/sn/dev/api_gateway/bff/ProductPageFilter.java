@@ -0,0 +1,85 @@
+package sn.dev.api_gateway.bff;
+
+import java.util.Map;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.filters.EdgeAuthenticationFilter;
+import sn.dev.api_gateway.security.InternalIdentitySigner;
+
+/**
+ * Terminal filter of the product page route: answers with the composed document instead of proxying. Runs
+ * after the global filters, so the token has been verified and rate limits applied. A missing product is a
+ * 404, a product that timed out a 504; seller and cart failures only make the page partial.
+ */
+@Component
+public class ProductPageFilter implements GatewayFilter {
+
+    private static final String[] FORWARDED_HEADERS = {
+            HttpHeaders.AUTHORIZATION,
+            InternalIdentitySigner.USER_ID_HEADER,
+            InternalIdentitySigner.AUTHORITIES_HEADER,
+            InternalIdentitySigner.EXPIRES_HEADER,
+            InternalIdentitySigner.SIGNATURE_HEADER };
+
+    private final ProductPageAggregator aggregator;
+    private final ObjectMapper objectMapper;
+
+    public ProductPageFilter(ProductPageAggregator aggregator, ObjectMapper objectMapper) {
+        this.aggregator = aggregator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String productId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("id");
+        String userId = exchange.getAttribute(EdgeAuthenticationFilter.VERIFIED_USER_ID_ATTR);
+        HttpHeaders forwarded = new HttpHeaders();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        for (String name : FORWARDED_HEADERS) {
+            if (requestHeaders.containsKey(name)) {
+                forwarded.addAll(name, requestHeaders.get(name));
+            }
+        }
+
+        return aggregator.aggregate(productId, userId, forwarded)
+                .flatMap(page -> page.product() != null
+                        ? write(exchange.getResponse(), HttpStatus.OK, page)
+                        : write(exchange.getResponse(), productFailureStatus(page.missing().get("product")),
+                                Map.of("error", "Product unavailable", "reason", page.missing().get("product"))));
+    }
+
+    private static HttpStatus productFailureStatus(String reason) {
+        return switch (reason) {
+            case "not_found" -> HttpStatus.NOT_FOUND;
+            case "timeout" -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.BAD_GATEWAY;
+        };
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, HttpStatus status, Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        // The cart makes the document user-specific
+        response.getHeaders().setCacheControl("private, no-store");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+}
@@ -0,0 +1,30 @@
+package sn.dev.api_gateway.cache;
+
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A cached upstream response. {@code storedAt} and {@code freshSeconds} are refreshed when the entry is
+ * revalidated with a 304, the body is kept as-is.
+ */
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, String etag, Instant storedAt,
+        long initialAgeSeconds, long freshSeconds) {
+
+    public long ageSeconds(Instant now) {
+        return initialAgeSeconds + Math.max(0, now.getEpochSecond() - storedAt.getEpochSecond());
+    }
+
+    public boolean isFresh(Instant now) {
+        return ageSeconds(now) < freshSeconds;
+    }
+
+    // Only upstream validators can be sent back upstream, the gateway-computed etag is for clients only
+    public boolean canRevalidate() {
+        return headers.getETag() != null || headers.getLastModified() >= 0;
+    }
+
+    public CachedResponse revalidated(Instant now, long newFreshSeconds) {
+        return new CachedResponse(status, headers, body, etag, now, 0, newFreshSeconds);
+    }
+}
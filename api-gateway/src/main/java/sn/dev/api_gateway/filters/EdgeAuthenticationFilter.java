@@ -0,0 +1,127 @@
+package sn.dev.api_gateway.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.security.InternalIdentitySigner;
+
+/**
+ * Verifies bearer tokens once at the edge, through the same exp-bounded cache as the services. Invalid or
+ * expired tokens get a 401 before routing. For valid ones the verified userID and authorities are forwarded as
+ * HMAC-signed X-Auth-* headers, which backends may trust instead of re-checking the RSA signature. Client-supplied
+ * X-Auth-* headers are always dropped. Requests without a bearer token pass through unchanged.
+ */
+@Component
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    // Before rate limiting, so that buckets are keyed on a verified userID
+    public static final int ORDER = RateLimitFilter.ORDER - 1;
+
+    public static final String VERIFIED_USER_ID_ATTR = EdgeAuthenticationFilter.class.getName() + ".userId";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final boolean enabled;
+    private final JwtDecoder jwtDecoder;
+    private final InternalIdentitySigner signer;
+
+    private final Counter verified;
+    private final Counter rejected;
+
+    public EdgeAuthenticationFilter(
+            @Value("${security.edge-auth.enabled:true}") boolean enabled,
+            JwtDecoder jwtDecoder,
+            @Value("${security.internal-auth.secret:}") String internalAuthSecret,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.jwtDecoder = jwtDecoder;
+        // Without a shared secret tokens are still checked at the edge, but no identity headers are forwarded
+        this.signer = internalAuthSecret == null || internalAuthSecret.isBlank()
+                ? null : new InternalIdentitySigner(internalAuthSecret);
+        this.verified = counter(meterRegistry, "verified");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.auth.tokens").tag("result", result)
+                .description("Bearer tokens checked at the edge").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        boolean bearer = authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0,
+                BEARER_PREFIX.length());
+
+        if (!enabled || !bearer) {
+            return chain.filter(exchange.mutate().request(withoutIdentityHeaders(request)).build());
+        }
+
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(token);
+        } catch (JwtException e) {
+            rejected.increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            return response.setComplete();
+        }
+        verified.increment();
+
+        String userId = jwt.getClaimAsString("userID");
+        if (userId != null) {
+            exchange.getAttributes().put(VERIFIED_USER_ID_ATTR, userId);
+        }
+        ServerHttpRequest forwarded = withoutIdentityHeaders(request);
+        if (signer != null && userId != null && jwt.getExpiresAt() != null) {
+            String authorities = jwt.hasClaim("authorities") ? jwt.getClaimAsString("authorities") : "";
+            long expires = jwt.getExpiresAt().getEpochSecond();
+            String signature = signer.sign(userId, authorities, expires, token);
+            forwarded = forwarded.mutate().headers(headers -> {
+                headers.set(InternalIdentitySigner.USER_ID_HEADER, userId);
+                headers.set(InternalIdentitySigner.AUTHORITIES_HEADER, authorities);
+                headers.set(InternalIdentitySigner.EXPIRES_HEADER, String.valueOf(expires));
+                headers.set(InternalIdentitySigner.SIGNATURE_HEADER, signature);
+            }).build();
+        }
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    private static ServerHttpRequest withoutIdentityHeaders(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(InternalIdentitySigner.USER_ID_HEADER)
+                && !headers.containsKey(InternalIdentitySigner.AUTHORITIES_HEADER)
+                && !headers.containsKey(InternalIdentitySigner.EXPIRES_HEADER)
+                && !headers.containsKey(InternalIdentitySigner.SIGNATURE_HEADER)) {
+            return request;
+        }
+        return request.mutate().headers(mutable -> {
+            mutable.remove(InternalIdentitySigner.USER_ID_HEADER);
+            mutable.remove(InternalIdentitySigner.AUTHORITIES_HEADER);
+            mutable.remove(InternalIdentitySigner.EXPIRES_HEADER);
+            mutable.remove(InternalIdentitySigner.SIGNATURE_HEADER);
+        }).build();
+    }
+}
@@ -0,0 +1,55 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Helpers shared by the filters that replay a captured upstream response to other clients.
+ */
+final class GatewayResponses {
+
+    // Recomputed for each replay, never copied from the captured response
+    static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.AGE);
+
+    private static final String CORS_PREFIX = "Access-Control-";
+
+    private GatewayResponses() {
+    }
+
+    /**
+     * Appends the readable bytes of the buffer without moving its read position, so it can still be written.
+     */
+    static void copyReadable(DataBuffer buffer, ByteArrayOutputStream target) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer chunk = iterator.next();
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                target.writeBytes(bytes);
+            }
+        }
+    }
+
+    /**
+     * Copies captured upstream headers onto a response. CORS headers already set by the gateway for this
+     * client win over the captured ones.
+     */
+    static void copyHeaders(HttpHeaders source, HttpHeaders target) {
+        HOP_BY_HOP_HEADERS.forEach(target::remove);
+        source.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) {
+                return;
+            }
+            if (name.regionMatches(true, 0, CORS_PREFIX, 0, CORS_PREFIX.length()) && target.containsKey(name)) {
+                return;
+            }
+            target.put(name, new ArrayList<>(values));
+        });
+    }
+}
@@ -0,0 +1,334 @@
+package sn.dev.api_gateway.filters;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import sn.dev.api_gateway.upstream.HedgeBudget;
+
+/**
+ * Hedged reads for opted-in GET routes served by several instances ({@code lb://} routes). The call goes to
+ * the instance the load balancer picked; if it has not answered after the route's observed p95 (by default), a
+ * second call goes to another instance and the first complete response wins, the other being cancelled. Hedges
+ * spend a global {@link HedgeBudget}, so a slow upstream cannot double the load on itself. Both calls use the
+ * gateway's HTTP client (pool, global and per-route timeouts); a response body over max-body-bytes is not
+ * buffered but fetched again through the normal, streaming routing.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    // Takes over from NettyRoutingFilter once the instance is resolved and the route timeouts are known
+    public static final int ORDER = UpstreamMetricsFilter.ORDER + 1;
+
+    static final String HEDGED_HEADER = "X-Hedged";
+
+    private static final int MIN_SAMPLES = 100;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final List<String> routes;
+    private final List<PathPattern> paths;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final IntFunction<WebClient> webClients;
+    private final int maxBodyBytes;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final Supplier<List<HttpHeadersFilter>> headersFilters;
+    private final Duration defaultResponseTimeout;
+    private final HedgeBudget budget;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RouteHedging> hedging = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HedgingFilter(
+            @Value("${gateway.hedging.enabled:true}") boolean enabled,
+            @Value("${gateway.hedging.routes:}") List<String> routes,
+            @Value("${gateway.hedging.paths:}") List<String> paths,
+            @Value("${gateway.hedging.percentile:0.95}") double percentile,
+            @Value("${gateway.hedging.min-delay:PT0.01S}") Duration minDelay,
+            @Value("${gateway.hedging.initial-delay:PT0.2S}") Duration initialDelay,
+            @Value("${gateway.hedging.budget-ratio:0.1}") double budgetRatio,
+            @Value("${gateway.hedging.budget-burst:20}") int budgetBurst,
+            @Value("${gateway.hedging.max-body-bytes:2097152}") int maxBodyBytes,
+            WebClient.Builder webClientBuilder,
+            HttpClient httpClient,
+            ReactiveDiscoveryClient discoveryClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties httpClientProperties,
+            MeterRegistry meterRegistry) {
+        this(enabled, routes, paths, percentile, minDelay, initialDelay, new HedgeBudget(budgetRatio, budgetBurst),
+                webClients(webClientBuilder, httpClient, maxBodyBytes), maxBodyBytes, discoveryClient,
+                headersFilters::getIfAvailable, httpClientProperties.getResponseTimeout(), meterRegistry);
+    }
+
+    /**
+     * {@code webClients}: client for a route's connect timeout in millis, -1 for the gateway default.
+     */
+    HedgingFilter(boolean enabled, List<String> routes, List<String> paths, double percentile, Duration minDelay,
+            Duration initialDelay, HedgeBudget budget, IntFunction<WebClient> webClients, int maxBodyBytes,
+            ReactiveDiscoveryClient discoveryClient, Supplier<List<HttpHeadersFilter>> headersFilters,
+            Duration defaultResponseTimeout, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.routes = routes.stream().map(String::trim).filter(route -> !route.isEmpty()).toList();
+        this.paths = paths.stream().map(String::trim).filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse).toList();
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.initialDelay = initialDelay;
+        this.budget = budget;
+        this.webClients = webClients;
+        this.maxBodyBytes = maxBodyBytes;
+        this.discoveryClient = discoveryClient;
+        this.headersFilters = headersFilters;
+        this.defaultResponseTimeout = defaultResponseTimeout;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.hedging.budget.tokens", budget, HedgeBudget::available)
+                .description("Hedges that may currently be sent").register(meterRegistry);
+    }
+
+    // Same client NettyRoutingFilter uses; a route connect timeout is a client option, hence one client per value
+    private static IntFunction<WebClient> webClients(WebClient.Builder webClientBuilder, HttpClient httpClient,
+            int maxBodyBytes) {
+        ConcurrentHashMap<Integer, WebClient> clients = new ConcurrentHashMap<>();
+        return connectTimeout -> clients.computeIfAbsent(connectTimeout, millis -> webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(millis < 0 ? httpClient
+                        : httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, millis)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxBodyBytes))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!enabled || route == null || requestUrl == null || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || exchange.getRequest().getMethod() != HttpMethod.GET || !"lb".equals(route.getUri().getScheme())
+                || !("http".equals(requestUrl.getScheme()) || "https".equals(requestUrl.getScheme()))
+                || !matches(route, exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        RouteHedging routeHedging = hedging.computeIfAbsent(route.getId(), RouteHedging::new);
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(HttpHeadersFilter.filterRequest(headersFilters.get(), exchange));
+        headers.remove(HttpHeaders.HOST);
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        budget.onRequest();
+
+        WebClient webClient = webClients.apply(connectTimeout(route));
+        long start = System.nanoTime();
+        Mono<Attempt> primary = send(webClient, requestUrl, headers, false);
+        Mono<Attempt> hedge = Mono.delay(routeHedging.hedgeDelay())
+                .flatMap(tick -> otherInstance(route.getUri().getHost(), requestUrl))
+                .switchIfEmpty(Mono.fromRunnable(routeHedging.noInstance::increment))
+                .filter(uri -> {
+                    if (budget.tryAcquire()) {
+                        routeHedging.fired.increment();
+                        return true;
+                    }
+                    routeHedging.budgetExhausted.increment();
+                    return false;
+                })
+                .flatMap(uri -> send(webClient, uri, headers, true));
+
+        Mono<Attempt> race = Mono.firstWithValue(primary, hedge)
+                // Both calls failed (or no hedge was sent): surface the primary's error as NettyRoutingFilter would
+                .onErrorMap(NoSuchElementException.class,
+                        error -> error.getSuppressed().length > 0 ? error.getSuppressed()[0] : error);
+        Duration responseTimeout = responseTimeout(route);
+        if (responseTimeout != null) {
+            race = race.timeout(responseTimeout).onErrorMap(TimeoutException.class,
+                    error -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                            "Response took longer than timeout: " + responseTimeout, error));
+        }
+        return race
+                .flatMap(attempt -> {
+                    if (attempt.entity() == null) {
+                        routeHedging.oversized.increment();
+                        ServerWebExchangeUtils.removeAlreadyRouted(exchange);
+                        return chain.filter(exchange);
+                    }
+                    routeHedging.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    (attempt.hedged() ? routeHedging.hedgeWins : routeHedging.primaryWins).increment();
+                    return write(exchange, attempt);
+                });
+    }
+
+    // Same precedence as NettyRoutingFilter: route metadata (see UpstreamTimeoutFilter), then the global setting
+    private Duration responseTimeout(Route route) {
+        Object value = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (value == null) {
+            return defaultResponseTimeout;
+        }
+        long millis = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    private static int connectTimeout(Route route) {
+        Object value = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (value == null) {
+            return -1;
+        }
+        return value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString());
+    }
+
+    private boolean matches(Route route, PathContainer path) {
+        return routes.contains(route.getId()) || paths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    // A body over max-body-bytes ends the race with an empty attempt, known from Content-Length or while reading
+    private Mono<Attempt> send(WebClient webClient, URI uri, HttpHeaders headers, boolean hedged) {
+        return webClient.get()
+                .uri(uri)
+                .headers(target -> target.addAll(headers))
+                .exchangeToMono(response -> response.headers().contentLength().orElse(-1) > maxBodyBytes
+                        ? response.releaseBody().thenReturn(new Attempt(null, hedged))
+                        : response.toEntity(byte[].class).map(entity -> new Attempt(entity, hedged)))
+                .onErrorResume(DataBufferLimitException.class, error -> Mono.just(new Attempt(null, hedged)));
+    }
+
+    private Mono<URI> otherInstance(String serviceId, URI primary) {
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> !(instance.getHost().equals(primary.getHost())
+                        && instance.getPort() == primary.getPort()))
+                .collectList()
+                .filter(instances -> !instances.isEmpty())
+                .map(instances -> {
+                    ServiceInstance instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+                    return UriComponentsBuilder.fromUri(primary)
+                            .scheme(instance.isSecure() ? "https" : "http")
+                            .host(instance.getHost())
+                            .port(instance.getPort())
+                            .build(true)
+                            .toUri();
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        ResponseEntity<byte[]> entity = attempt.entity();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders upstreamHeaders = HttpHeadersFilter.filter(headersFilters.get(), entity.getHeaders(), exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+        response.setStatusCode(entity.getStatusCode());
+        GatewayResponses.copyHeaders(upstreamHeaders, response.getHeaders());
+        if (attempt.hedged()) {
+            response.getHeaders().set(HEDGED_HEADER, "true");
+        }
+        byte[] body = entity.getBody();
+        if (body == null || body.length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    // entity is null when the body was too large to buffer
+    private record Attempt(ResponseEntity<byte[]> entity, boolean hedged) {
+    }
+
+    /**
+     * Latency distribution and hedge delay of one route. The delay is re-read from the timer's percentile at most
+     * once per second, and only once the route has enough samples.
+     */
+    private final class RouteHedging {
+        private final Timer latency;
+        private final Counter primaryWins;
+        private final Counter hedgeWins;
+        private final Counter fired;
+        private final Counter budgetExhausted;
+        private final Counter noInstance;
+        private final Counter oversized;
+        private volatile long delayNanos = initialDelay.toNanos();
+        private volatile long refreshAt = System.nanoTime();
+
+        RouteHedging(String routeId) {
+            this.latency = Timer.builder("gateway.hedging.latency").tag("route", routeId)
+                    .description("Latency of hedged routes as seen by the client")
+                    .publishPercentiles(percentile)
+                    .register(meterRegistry);
+            this.primaryWins = winner(routeId, "primary");
+            this.hedgeWins = winner(routeId, "hedge");
+            this.fired = hedges(routeId, "fired");
+            this.budgetExhausted = hedges(routeId, "budget_exhausted");
+            this.noInstance = hedges(routeId, "no_instance");
+            this.oversized = Counter.builder("gateway.hedging.oversized").tag("route", routeId)
+                    .description("Hedge-eligible requests routed normally, the body being over max-body-bytes")
+                    .register(meterRegistry);
+        }
+
+        private Counter winner(String routeId, String winner) {
+            return Counter.builder("gateway.hedging.requests").tag("route", routeId).tag("winner", winner)
+                    .description("Hedge-eligible requests by the call that answered first").register(meterRegistry);
+        }
+
+        private Counter hedges(String routeId, String result) {
+            return Counter.builder("gateway.hedging.hedges").tag("route", routeId).tag("result", result)
+                    .description("Hedge attempts once the delay elapsed").register(meterRegistry);
+        }
+
+        Duration hedgeDelay() {
+            long now = System.nanoTime();
+            if (now - refreshAt >= 0) {
+                refreshAt = now + DELAY_REFRESH_NANOS;
+                if (latency.count() >= MIN_SAMPLES) {
+                    for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                        if (value.percentile() == percentile) {
+                            delayNanos = Math.max(minDelay.toNanos(), (long) value.value(TimeUnit.NANOSECONDS));
+                        }
+                    }
+                }
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+    }
+}
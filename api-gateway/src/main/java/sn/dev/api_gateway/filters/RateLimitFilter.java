@@ -0,0 +1,112 @@
+package sn.dev.api_gateway.filters;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.ratelimit.ClientKeyResolver;
+import sn.dev.api_gateway.ratelimit.RateLimitProperties;
+import sn.dev.api_gateway.ratelimit.TokenBucketRateLimiter;
+
+/**
+ * In-memory per-client rate limiting (no Redis): each configured rule owns a {@link TokenBucketRateLimiter}.
+ * Rejected requests get 429 with {@code Retry-After} before any cache lookup or upstream call.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
+    private final boolean enabled;
+    private final List<RuleLimiter> limiters;
+    private final ClientKeyResolver keyResolver;
+
+    public RateLimitFilter(RateLimitProperties properties, ClientKeyResolver keyResolver, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.keyResolver = keyResolver;
+        this.limiters = properties.getRules().entrySet().stream()
+                .map(entry -> new RuleLimiter(entry.getKey(), entry.getValue(), properties, meterRegistry))
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        RuleLimiter rule = limiters.stream().filter(limiter -> limiter.matches(exchange)).findFirst().orElse(null);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        TokenBucketRateLimiter.Decision decision = rule.limiter.tryAcquire(keyResolver.resolveKey(exchange));
+        if (decision.allowed()) {
+            rule.allowed.increment();
+            return chain.filter(exchange);
+        }
+
+        rule.rejected.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private static final class RuleLimiter {
+        private final List<String> routes;
+        private final List<PathPattern> paths;
+        private final TokenBucketRateLimiter limiter;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        RuleLimiter(String name, RateLimitProperties.Rule rule, RateLimitProperties properties,
+                MeterRegistry meterRegistry) {
+            this.routes = rule.getRoutes();
+            this.paths = rule.getPaths().stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+            this.limiter = new TokenBucketRateLimiter(rule.getCapacity(), rule.getRefillPerSecond(),
+                    properties.getShards(), properties.getMaxKeysPerShard(), System::nanoTime);
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.rejected = counter(meterRegistry, name, "rejected");
+            Gauge.builder("gateway.ratelimit.keys", limiter, TokenBucketRateLimiter::trackedKeys)
+                    .tag("rule", name).description("Clients with a non-full bucket (approximate)")
+                    .register(meterRegistry);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String rule, String result) {
+            return Counter.builder("gateway.ratelimit.requests").tag("rule", rule).tag("result", result)
+                    .description("Rate-limited requests by rule and outcome").register(meterRegistry);
+        }
+
+        boolean matches(ServerWebExchange exchange) {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route != null && routes.contains(route.getId())) {
+                return true;
+            }
+            PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+            return paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Single-flight for idempotent GETs: while an upstream call for a key is in flight, identical requests wait for
+ * it and replay its response instead of reaching the service. Followers fall back to their own upstream call
+ * when the leader fails, takes longer than max-wait, or returns a body larger than max-body-bytes. The leader
+ * fetches an identity body (no {@code Accept-Encoding}) that the outer {@link ResponseCompressionFilter} encodes
+ * per client, so requests with different codings share a call.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final boolean enabled;
+    private final List<PathPattern> paths;
+    private final Duration maxWait;
+    private final int maxBodyBytes;
+    private final ConcurrentHashMap<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+
+    public RequestCoalescingFilter(
+            @Value("${gateway.coalescing.enabled:true}") boolean enabled,
+            @Value("${gateway.coalescing.paths:/api/products/*}") List<String> paths,
+            @Value("${gateway.coalescing.max-wait:PT2S}") Duration maxWait,
+            @Value("${gateway.coalescing.max-body-bytes:1048576}") int maxBodyBytes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.paths = paths.stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxWait = maxWait;
+        this.maxBodyBytes = maxBodyBytes;
+
+        this.leaders = counter(meterRegistry, "leader");
+        this.followers = counter(meterRegistry, "follower");
+        this.fallbacks = counter(meterRegistry, "fallback");
+        Gauge.builder("gateway.coalescing.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct upstream calls currently shared by coalesced requests")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests").tag("role", role)
+                .description("Coalescing-eligible requests by role").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || !isEligible(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = coalescingKey(request);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> leaderSink = inFlight.putIfAbsent(key, sink);
+        if (leaderSink != null) {
+            followers.increment();
+            return leaderSink.asMono()
+                    .timeout(maxWait)
+                    .map(Optional::of)
+                    // Leader failed, was too slow, or completed without a shareable response
+                    .onErrorReturn(Optional.empty())
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) {
+                            return replay(exchange.getResponse(), shared.get());
+                        }
+                        fallbacks.increment();
+                        return chain.filter(exchange);
+                    });
+        }
+
+        leaders.increment();
+        ServerHttpResponse response = new SharingResponse(exchange.getResponse(), key, sink);
+        ServerHttpRequest upstreamRequest = request.mutate()
+                .headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING))
+                .build();
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build())
+                .doFinally(signal -> release(key, sink));
+    }
+
+    private boolean isEligible(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        PathContainer path = request.getPath().pathWithinApplication();
+        return paths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    // Requests only share a response when everything the upstream may vary on is identical, credentials included
+    private static String coalescingKey(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        key.append("|accept=").append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append("|origin=").append(headers.getOrigin())
+                .append("|authorization=").append(headers.getFirst(HttpHeaders.AUTHORIZATION))
+                .append("|if-none-match=").append(headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+        return key.toString();
+    }
+
+    /**
+     * Ends the flight: later identical requests start a new upstream call. Followers still waiting on a sink that
+     * never received a response fall back to their own call.
+     */
+    private void release(String key, Sinks.One<SharedResponse> sink) {
+        inFlight.remove(key, sink);
+        sink.tryEmitEmpty();
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        GatewayResponses.copyHeaders(shared.headers(), response.getHeaders());
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Copies the leader's response while it streams to the leader's client and publishes it to the followers
+     * once complete.
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+
+        SharingResponse(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders snapshot = new HttpHeaders();
+            snapshot.addAll(getHeaders());
+            HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(snapshot);
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] overflow = {false};
+            Flux<? extends DataBuffer> tee = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflow[0] || copy.size() + buffer.readableByteCount() > maxBodyBytes) {
+                            overflow[0] = true;
+                            return;
+                        }
+                        GatewayResponses.copyReadable(buffer, copy);
+                    })
+                    .doOnComplete(() -> {
+                        inFlight.remove(key, sink);
+                        if (!overflow[0] && status != null) {
+                            sink.tryEmitValue(new SharedResponse(status, headers, copy.toByteArray()));
+                        }
+                    });
+            return super.writeWith(tee);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.cache.CachedResponse;
+import sn.dev.api_gateway.cache.ResponseCacheStore;
+
+/**
+ * Shared HTTP cache for anonymous GETs on the public catalog. Freshness comes from the upstream
+ * {@code Cache-Control} (s-maxage, then max-age); private, no-store and no-cache responses are never stored.
+ * Stale entries carrying upstream validators are revalidated with a conditional request, and clients get a
+ * 304 when their {@code If-None-Match} matches. Entries are keyed by path, query and the request headers the
+ * catalog varies on (Accept, Origin). They hold identity bodies, fetched without {@code Accept-Encoding} and
+ * compressed per client by the outer {@link ResponseCompressionFilter}, so every coding shares one entry.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // Must wrap the response before NettyWriteResponseFilter writes the upstream body into it, and answer hits
+    // before RequestCoalescingFilter makes them wait on an upstream call
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Set<String> KEYED_HEADERS = Set.of("accept", "origin");
+
+    private final boolean enabled;
+    private final List<PathPattern> cacheablePaths;
+    private final int maxEntryBytes;
+    private final ResponseCacheStore store;
+    private final Clock clock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+
+    @Autowired
+    public ResponseCacheFilter(
+            @Value("${gateway.cache.enabled:true}") boolean enabled,
+            @Value("${gateway.cache.paths:/api/products,/api/products/*}") List<String> paths,
+            @Value("${gateway.cache.max-entries:10000}") int maxEntries,
+            @Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes,
+            MeterRegistry meterRegistry) {
+        this(enabled, paths, new ResponseCacheStore(maxEntries, maxBytes), maxEntryBytes, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    ResponseCacheFilter(boolean enabled, List<String> paths, ResponseCacheStore store, int maxEntryBytes,
+            MeterRegistry meterRegistry, Clock clock) {
+        this.enabled = enabled;
+        this.cacheablePaths = paths.stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+        this.store = store;
+        this.maxEntryBytes = maxEntryBytes;
+        this.clock = clock;
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.revalidations = counter(meterRegistry, "revalidated");
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCacheFilter::hitRatio)
+                .description("Share of cacheable requests answered without a full upstream response")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", store, ResponseCacheStore::size).register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", store, ResponseCacheStore::bytes).register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.cache.requests").tag("result", result)
+                .description("Cacheable gateway requests by cache outcome").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || !isCacheableRequest(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        Instant now = clock.instant();
+        CachedResponse cached = store.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            hits.increment();
+            return writeCached(exchange.getResponse(), cached, now, "HIT", clientHasCurrentCopy(request, cached));
+        }
+
+        CachedResponse stale = cached != null && cached.canRevalidate() ? cached : null;
+        ServerHttpRequest upstreamRequest = request.mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                    if (stale == null) {
+                        return;
+                    }
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    if (stale.headers().getETag() != null) {
+                        headers.setIfNoneMatch(stale.headers().getETag());
+                    } else {
+                        headers.setIfModifiedSince(stale.headers().getLastModified());
+                    }
+                })
+                .build();
+
+        ServerHttpResponse response = new CachingResponse(exchange.getResponse(), request, key, stale, now);
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build());
+    }
+
+    private boolean isCacheableRequest(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (request.getMethod() != HttpMethod.GET || headers.containsKey(HttpHeaders.AUTHORIZATION)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"))) {
+            return false;
+        }
+        PathContainer path = request.getPath().pathWithinApplication();
+        return cacheablePaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        key.append("|accept=").append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append("|origin=").append(headers.getOrigin());
+        return key.toString();
+    }
+
+    private static boolean clientHasCurrentCopy(ServerHttpRequest request, CachedResponse cached) {
+        // If-None-Match uses the weak comparison: the compression filter sends W/ versions of strong ETags
+        String current = opaqueTag(cached.etag());
+        return request.getHeaders().getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(current));
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Seconds the response may be served from the cache, or -1 when it must not be stored.
+     */
+    private long freshnessSeconds(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return -1;
+        }
+        for (String vary : headers.getVary()) {
+            if (!KEYED_HEADERS.contains(vary.toLowerCase(Locale.ROOT))) {
+                return -1;
+            }
+        }
+        String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+            return -1;
+        }
+        if (headers.getContentLength() > maxEntryBytes) {
+            return -1;
+        }
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String value = directive.trim();
+            if (value.equals("private") || value.equals("no-store") || value.equals("no-cache")) {
+                return -1;
+            }
+            if (value.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(value.substring("s-maxage=".length()));
+            } else if (value.startsWith("max-age=")) {
+                maxAge = parseSeconds(value.substring("max-age=".length()));
+            }
+        }
+        long freshness = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+        return freshness > 0 ? freshness : -1;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, Instant now, String cacheStatus,
+            boolean notModified) {
+        byte[] body = applyCached(response, cached, now, cacheStatus, notModified);
+        if (body.length == 0) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Sets status and headers of the cached entry on the response and returns the body to write.
+     */
+    private static byte[] applyCached(ServerHttpResponse response, CachedResponse cached, Instant now,
+            String cacheStatus, boolean notModified) {
+        HttpHeaders headers = response.getHeaders();
+        GatewayResponses.copyHeaders(cached.headers(), headers);
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (notModified) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return new byte[0];
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return cached.body();
+    }
+
+    private static String weakEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + revalidations.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    /**
+     * Copies the upstream body while it streams to the client and stores it once complete, so a miss costs no
+     * extra latency. A 304 answer to our own revalidation is replaced by the refreshed cached entry.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String key;
+        private final CachedResponse stale;
+        private final Instant requestedAt;
+
+        CachingResponse(ServerHttpResponse delegate, ServerHttpRequest request, String key, CachedResponse stale,
+                Instant requestedAt) {
+            super(delegate);
+            this.request = request;
+            this.key = key;
+            this.stale = stale;
+            this.requestedAt = requestedAt;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (stale != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                revalidations.increment();
+                long fresh = freshnessSeconds(HttpStatus.OK, getHeaders());
+                CachedResponse refreshed = stale.revalidated(requestedAt, fresh > 0 ? fresh : stale.freshSeconds());
+                store.put(key, refreshed);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(writeCached(getDelegate(), refreshed, requestedAt, "REVALIDATED",
+                                clientHasCurrentCopy(request, refreshed)));
+            }
+
+            misses.increment();
+            long fresh = freshnessSeconds(status, getHeaders());
+            if (fresh < 0) {
+                store.remove(key);
+                return super.writeWith(body);
+            }
+            HttpHeaders snapshot = new HttpHeaders();
+            snapshot.addAll(getHeaders());
+            HttpHeaders upstreamHeaders = HttpHeaders.readOnlyHttpHeaders(snapshot);
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            long initialAge = parseSeconds(String.valueOf(upstreamHeaders.getFirst(HttpHeaders.AGE)));
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] overflow = {false};
+            Flux<? extends DataBuffer> tee = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflow[0] || copy.size() + buffer.readableByteCount() > maxEntryBytes) {
+                            overflow[0] = true;
+                            return;
+                        }
+                        GatewayResponses.copyReadable(buffer, copy);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflow[0]) {
+                            byte[] bytes = copy.toByteArray();
+                            String etag = upstreamHeaders.getETag() != null ? upstreamHeaders.getETag() : weakEtag(bytes);
+                            store.put(key, new CachedResponse(status.value(), upstreamHeaders, bytes, etag,
+                                    requestedAt, Math.max(0, initialAge), fresh));
+                        }
+                    });
+            return super.writeWith(tee);
+        }
+    }
+}
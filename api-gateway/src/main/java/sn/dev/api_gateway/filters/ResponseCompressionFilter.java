@@ -0,0 +1,302 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compresses routed responses with the best coding the client accepts ({@code Accept-Encoding}, q-values
+ * honoured, gzip preferred on ties). Only configured media types at or above the minimum size are compressed;
+ * bodies the upstream already encoded, 204/206/304 answers and {@code no-transform} responses go out untouched.
+ * The body is deflated as it streams, and original vs. compressed bytes are counted per coding.
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    // Outermost response decorator: upstream bodies, cache hits and coalesced replays all go through it, while the
+    // cache and the coalescing filter keep identity bodies they can serve to any client
+    public static final int ORDER = EdgeAuthenticationFilter.ORDER - 1;
+
+    enum Coding {
+        GZIP("gzip"), DEFLATE("deflate");
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        DeflaterOutputStream open(ByteArrayOutputStream target, int level) {
+            try {
+                return switch (this) {
+                    case GZIP -> new GZIPOutputStream(target) {
+                        {
+                            def.setLevel(level);
+                        }
+                    };
+                    case DEFLATE -> new DeflaterOutputStream(target, new Deflater(level));
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final List<MediaType> mimeTypes;
+    private final int minResponseSize;
+    private final int level;
+
+    private final Map<Coding, Counter> compressed = new EnumMap<>(Coding.class);
+    private final Map<Coding, Counter> originalBytes = new EnumMap<>(Coding.class);
+    private final Map<Coding, Counter> compressedBytes = new EnumMap<>(Coding.class);
+    private final Map<Coding, Counter> savedBytes = new EnumMap<>(Coding.class);
+    private final Counter uncompressed;
+
+    public ResponseCompressionFilter(
+            @Value("${gateway.compression.enabled:true}") boolean enabled,
+            @Value("${gateway.compression.mime-types:application/json,application/*+json,text/html,text/plain,text/css,application/javascript}") List<String> mimeTypes,
+            @Value("${gateway.compression.min-response-size:1024}") int minResponseSize,
+            @Value("${gateway.compression.level:6}") int level,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.mimeTypes = mimeTypes.stream().map(String::trim).map(MediaType::parseMediaType).toList();
+        this.minResponseSize = minResponseSize;
+        this.level = level;
+
+        for (Coding coding : Coding.values()) {
+            compressed.put(coding, responses(meterRegistry, coding.token));
+            originalBytes.put(coding, bytes(meterRegistry, coding, "original"));
+            compressedBytes.put(coding, bytes(meterRegistry, coding, "compressed"));
+            savedBytes.put(coding, Counter.builder("gateway.compression.bytes.saved").tag("encoding", coding.token)
+                    .description("Response bytes not sent thanks to compression").baseUnit("bytes")
+                    .register(meterRegistry));
+        }
+        this.uncompressed = responses(meterRegistry, "identity");
+    }
+
+    private static Counter responses(MeterRegistry meterRegistry, String encoding) {
+        return Counter.builder("gateway.compression.responses").tag("encoding", encoding)
+                .description("Responses with a compressible media type by content coding sent").register(meterRegistry);
+    }
+
+    private static Counter bytes(MeterRegistry meterRegistry, Coding coding, String stage) {
+        return Counter.builder("gateway.compression.bytes").tag("encoding", coding.token).tag("stage", stage)
+                .description("Body bytes of compressed responses before and after compression").baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+        Coding coding = negotiate(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        ServerHttpResponse response = new CompressingResponse(exchange.getResponse(), coding);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    /**
+     * Returns the supported coding with the highest q-value, or null when the client accepts none of them.
+     */
+    static Coding negotiate(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Coding best = null;
+        double bestQuality = 0;
+        double wildcardQuality = -1;
+        Map<Coding, Double> qualities = new EnumMap<>(Coding.class);
+        for (String header : acceptEncoding) {
+            for (String entry : header.split(",")) {
+                String[] parts = entry.trim().split(";");
+                String token = parts[0].trim().toLowerCase(Locale.ROOT);
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(param.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (token.equals("*")) {
+                    wildcardQuality = quality;
+                }
+                for (Coding coding : Coding.values()) {
+                    if (coding.token.equals(token)) {
+                        qualities.put(coding, quality);
+                    }
+                }
+            }
+        }
+        // Declaration order of Coding is the server preference, used when q-values are equal
+        for (Coding coding : Coding.values()) {
+            double quality = qualities.getOrDefault(coding, wildcardQuality);
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private boolean isCompressibleType(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && mimeTypes.stream().anyMatch(type -> type.includes(contentType));
+    }
+
+    private boolean shouldCompress(HttpStatusCode status, HttpHeaders headers) {
+        if (status != null && (status.is1xxInformational() || status.value() == HttpStatus.NO_CONTENT.value()
+                || status.value() == HttpStatus.PARTIAL_CONTENT.value()
+                || status.value() == HttpStatus.NOT_MODIFIED.value())) {
+            return false;
+        }
+        String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-transform")) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        return contentLength < 0 || contentLength >= minResponseSize;
+    }
+
+    private static void addVaryAcceptEncoding(HttpHeaders headers) {
+        boolean present = headers.getVary().stream()
+                .anyMatch(vary -> vary.equals("*") || vary.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING));
+        if (!present) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Deflates the body chunk by chunk; each call returns whatever the compressor has produced so far.
+     */
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final Coding coding;
+        private long inputBytes;
+        private long outputBytes;
+
+        CompressingResponse(ServerHttpResponse delegate, Coding coding) {
+            super(delegate);
+            this.coding = coding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressibleType(headers)) {
+                return super.writeWith(body);
+            }
+            addVaryAcceptEncoding(headers);
+            if (coding == null || !shouldCompress(getStatusCode(), headers)) {
+                uncompressed.increment();
+                return super.writeWith(body);
+            }
+
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, coding.token);
+            // The compressed representation is not byte-identical to the one a strong validator described
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            DeflaterOutputStream compressor = coding.open(output, level);
+            Flux<DataBuffer> compressedBody = Flux.from(body)
+                    .map(buffer -> {
+                        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                            while (iterator.hasNext()) {
+                                ByteBuffer chunk = iterator.next();
+                                inputBytes += chunk.remaining();
+                                byte[] bytes = new byte[chunk.remaining()];
+                                chunk.get(bytes);
+                                compressor.write(bytes);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                        return drain(output);
+                    })
+                    .concatWith(Mono.fromCallable(() -> {
+                        compressor.finish();
+                        DataBuffer last = drain(output);
+                        record();
+                        return last;
+                    }))
+                    .filter(buffer -> {
+                        if (buffer.readableByteCount() > 0) {
+                            return true;
+                        }
+                        DataBufferUtils.release(buffer);
+                        return false;
+                    })
+                    .doFinally(signal -> {
+                        try {
+                            compressor.close();
+                        } catch (IOException e) {
+                            // In-memory stream, nothing to report
+                        }
+                    });
+            return super.writeWith(compressedBody);
+        }
+
+        private DataBuffer drain(ByteArrayOutputStream output) {
+            DataBuffer buffer = bufferFactory().wrap(output.toByteArray());
+            outputBytes += output.size();
+            output.reset();
+            return buffer;
+        }
+
+        private void record() {
+            compressed.get(coding).increment();
+            originalBytes.get(coding).increment(inputBytes);
+            compressedBytes.get(coding).increment(outputBytes);
+            savedBytes.get(coding).increment(Math.max(0, inputBytes - outputBytes));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package sn.dev.api_gateway.filters;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ConnectTimeoutException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every proxied call from the moment the load balancer picked an instance until the upstream response
+ * headers arrive, tagged by route and instance (host:port), with p50/p95/p99 and a Prometheus histogram.
+ * Failed calls are also counted by cause, so a hung or unreachable instance shows up on its own.
+ */
+@Component
+public class UpstreamMetricsFilter implements GlobalFilter, Ordered {
+
+    // After the load balancer resolved the instance and the route timeouts were applied
+    public static final int ORDER = UpstreamTimeoutFilter.ORDER + 1;
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || requestUrl == null
+                || !("http".equals(requestUrl.getScheme()) || "https".equals(requestUrl.getScheme()))) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        String instance = requestUrl.getHost() + ":" + requestUrl.getPort();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable[] failure = new Throwable[1];
+        return chain.filter(exchange)
+                .doOnError(error -> failure[0] = error)
+                .doFinally(signal -> {
+                    HttpStatusCode status = failure[0] != null ? statusOf(failure[0])
+                            : exchange.getResponse().getStatusCode();
+                    String outcome = signal == SignalType.CANCEL ? "CANCELLED" : outcome(status);
+                    sample.stop(Timer.builder("gateway.upstream.requests")
+                            .tag("route", routeId)
+                            .tag("instance", instance)
+                            .tag("outcome", outcome)
+                            .description("Time from instance selection to upstream response headers")
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+                    if (failure[0] != null) {
+                        Counter.builder("gateway.upstream.errors")
+                                .tag("route", routeId)
+                                .tag("instance", instance)
+                                .tag("type", errorType(failure[0]))
+                                .description("Failed upstream calls by cause")
+                                .register(meterRegistry)
+                                .increment();
+                    }
+                });
+    }
+
+    private static HttpStatusCode statusOf(Throwable error) {
+        return error instanceof ResponseStatusException statusException
+                ? statusException.getStatusCode() : HttpStatus.BAD_GATEWAY;
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        if (status.is2xxSuccessful() || status.is3xxRedirection() || status.is1xxInformational()) {
+            return "SUCCESS";
+        }
+        return status.is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    static String errorType(Throwable error) {
+        // NettyRoutingFilter reports its response timeout as a 504 wrapping the TimeoutException
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectTimeoutException) {
+                return "connect_timeout";
+            }
+            if (cause instanceof TimeoutException) {
+                return "response_timeout";
+            }
+            if (cause instanceof ConnectException) {
+                return "connect_refused";
+            }
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,100 @@
+package sn.dev.api_gateway.filters;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.upstream.UpstreamTimeoutProperties;
+
+/**
+ * Applies the per-route connect/response timeouts of {@link UpstreamTimeoutProperties} by handing
+ * NettyRoutingFilter a copy of the matched route carrying them as route metadata, the way timeouts declared on
+ * a route definition are read.
+ */
+@Component
+public class UpstreamTimeoutFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final List<TimeoutRule> rules;
+
+    public UpstreamTimeoutFilter(UpstreamTimeoutProperties properties) {
+        this.rules = properties.getTimeouts().values().stream().map(TimeoutRule::new).toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || rules.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        String method = exchange.getRequest().getMethod().name();
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        TimeoutRule rule = rules.stream().filter(candidate -> candidate.matches(route, method, path))
+                .findFirst().orElse(null);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, rule.apply(route));
+        return chain.filter(exchange);
+    }
+
+    private static final class TimeoutRule {
+        private final List<String> routes;
+        private final List<PathPattern> paths;
+        private final List<String> methods;
+        private final Map<String, Object> metadata = new LinkedHashMap<>();
+
+        TimeoutRule(UpstreamTimeoutProperties.Rule rule) {
+            this.routes = rule.getRoutes();
+            this.paths = rule.getPaths().stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+            this.methods = rule.getMethods().stream().map(String::trim).map(String::toUpperCase).toList();
+            // NettyRoutingFilter reads both as milliseconds
+            if (rule.getConnectTimeout() != null) {
+                metadata.put(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR, (int) rule.getConnectTimeout().toMillis());
+            }
+            if (rule.getResponseTimeout() != null) {
+                metadata.put(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, rule.getResponseTimeout().toMillis());
+            }
+        }
+
+        boolean matches(Route route, String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            return routes.contains(route.getId()) || paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+
+        Route apply(Route route) {
+            Map<String, Object> merged = new LinkedHashMap<>(route.getMetadata());
+            merged.putAll(metadata);
+            return Route.async()
+                    .id(route.getId())
+                    .uri(route.getUri())
+                    .order(route.getOrder())
+                    .asyncPredicate(route.getPredicate())
+                    .replaceFilters(route.getFilters())
+                    .replaceMetadata(merged)
+                    .build();
+        }
+    }
+}
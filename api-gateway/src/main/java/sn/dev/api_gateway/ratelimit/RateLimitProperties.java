@@ -0,0 +1,94 @@
+package sn.dev.api_gateway.ratelimit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rules are matched in declaration order, the first rule whose route id or path pattern matches applies.
+ * Each rule has its own buckets, keyed by client (see {@link ClientKeyResolver}).
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int shards = 16;
+    private int maxKeysPerShard = 10_000;
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    public static class Rule {
+        private List<String> routes = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        private long capacity = 20;
+        private double refillPerSecond = 10;
+
+        public List<String> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<String> routes) {
+            this.routes = routes;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public int getMaxKeysPerShard() {
+        return maxKeysPerShard;
+    }
+
+    public void setMaxKeysPerShard(int maxKeysPerShard) {
+        this.maxKeysPerShard = maxKeysPerShard;
+    }
+
+    public Map<String, Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, Rule> rules) {
+        this.rules = rules;
+    }
+}
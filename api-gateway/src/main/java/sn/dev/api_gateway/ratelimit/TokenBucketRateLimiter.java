@@ -0,0 +1,76 @@
+package sn.dev.api_gateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, one per key. Each bucket is a single {@link AtomicLong} holding its theoretical
+ * arrival time (GCRA): a request is allowed when, after adding one emission interval, the bucket is not more
+ * than {@code capacity} intervals ahead of now. Buckets live in sharded maps; a shard that grows past its
+ * bound drops its full (idle) buckets, which is lossless since a full bucket equals a missing one.
+ */
+public class TokenBucketRateLimiter {
+
+    public record Decision(boolean allowed, long retryAfterNanos) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeysPerShard;
+    private final ConcurrentHashMap<String, AtomicLong>[] shards;
+    private final LongSupplier nanoClock;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond, int shardCount, int maxKeysPerShard,
+            LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refill-per-second > 0");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.maxKeysPerShard = maxKeysPerShard;
+        this.nanoClock = nanoClock;
+        this.shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong theoreticalArrival = bucket(key, now);
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return new Decision(false, excess);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        ConcurrentHashMap<String, AtomicLong> shard = shards[(key.hashCode() & 0x7fffffff) % shards.length];
+        AtomicLong bucket = shard.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (shard.size() >= maxKeysPerShard) {
+            shard.values().removeIf(tat -> tat.get() <= now);
+        }
+        return shard.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    public int trackedKeys() {
+        int total = 0;
+        for (ConcurrentHashMap<String, AtomicLong> shard : shards) {
+            total += shard.size();
+        }
+        return total;
+    }
+}
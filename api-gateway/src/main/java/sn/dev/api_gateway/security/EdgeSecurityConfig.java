@@ -0,0 +1,33 @@
+package sn.dev.api_gateway.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.interfaces.RSAPublicKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.service_support.security.CachingJwtDecoder;
+
+@Configuration
+public class EdgeSecurityConfig {
+
+    // Same public key as the services; loaded by hand since the gateway has no Spring Security web configuration
+    @Bean
+    JwtDecoder edgeJwtDecoder(@Value("${rsa.publicKey}") Resource publicKey,
+            @Value("${security.jwt.cache.max-size:10000}") int cacheMaxSize,
+            MeterRegistry meterRegistry) throws IOException {
+        RSAPublicKey rsaPublicKey;
+        try (InputStream inputStream = publicKey.getInputStream()) {
+            rsaPublicKey = RsaKeyConverters.x509().convert(inputStream);
+        }
+        // Signature is verified once per token, then served from the cache until exp
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaPublicKey).build(), cacheMaxSize, meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package sn.dev.api_gateway.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs the identity the gateway verified so that backends can trust it without re-checking the RSA signature.
+ * The HMAC-SHA256 covers user id, authorities, expiry and the SHA-256 of the bearer token, which binds the
+ * headers to the token they travel with. Backends recompute the same value (see GatewayIdentityJwtDecoder in
+ * service-support).
+ */
+public class InternalIdentitySigner {
+
+    public static final String USER_ID_HEADER = "X-Auth-User-Id";
+    public static final String AUTHORITIES_HEADER = "X-Auth-Authorities";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private final SecretKeySpec key;
+
+    public InternalIdentitySigner(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public String sign(String userId, String authorities, long expiresEpochSeconds, String token) {
+        String payload = userId + "\n" + authorities + "\n" + expiresEpochSeconds + "\n" + tokenHash(token);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package sn.dev.api_gateway.tracing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.service_support.tracing.SpanFileExporter;
+
+/**
+ * Spring Boot traces every inbound request and every routed or WebClient call, propagating W3C
+ * {@code traceparent}; spans go to the OTLP collector at {@code management.otlp.tracing.endpoint} when it is set.
+ * With {@code tracing.file} they are also appended to a local file.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file")
+    public SpanFileExporter spanFileExporter(@Value("${tracing.file}") Path file) throws IOException {
+        return new SpanFileExporter(file);
+    }
+}
@@ -0,0 +1,42 @@
+package sn.dev.api_gateway.upstream;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests to a share of the traffic: every eligible request deposits {@code ratio} of a token, a
+ * hedge spends a whole one, and at most {@code burst} tokens are saved up. With ratio 0.1 the hedges add at
+ * most ~10% upstream load, however slow the upstream gets.
+ */
+public class HedgeBudget {
+
+    private static final long TOKEN = 1_000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong milliTokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = burst * TOKEN;
+        this.milliTokens = new AtomicLong(capacity);
+    }
+
+    public void onRequest() {
+        milliTokens.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = milliTokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!milliTokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    public double available() {
+        return (double) milliTokens.get() / TOKEN;
+    }
+}
@@ -0,0 +1,78 @@
+package sn.dev.api_gateway.upstream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-route overrides of the HTTP client timeouts ({@code spring.cloud.gateway.server.webflux.httpclient.*}).
+ * Routes live in the config repository, so rules select them by route id or path pattern; the first matching
+ * rule applies and an unset timeout keeps the global default. An empty method list matches every method.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamTimeoutProperties {
+
+    private Map<String, Rule> timeouts = new LinkedHashMap<>();
+
+    public static class Rule {
+        private List<String> routes = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private Duration connectTimeout;
+        private Duration responseTimeout;
+
+        public List<String> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<String> routes) {
+            this.routes = routes;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+    }
+
+    public Map<String, Rule> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Rule> timeouts) {
+        this.timeouts = timeouts;
+    }
+}
@@ -0,0 +1,108 @@
+package sn.dev.api_gateway.bff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ProductPageAggregatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    private ProductPageAggregator aggregator(Map<String, Mono<ClientResponse>> responses) {
+        ExchangeFunction upstream = request -> {
+            calls.add(request.url().getPath());
+            return responses.getOrDefault(request.url().getPath(),
+                    Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+        };
+        return new ProductPageAggregator(WebClient.builder().exchangeFunction(upstream).build(),
+                "http://product-service", "http://user-service", "http://order-service",
+                Duration.ofSeconds(2), Duration.ofMillis(200), Duration.ofMillis(200), meterRegistry);
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    @Test
+    void composesProductSellerAndCart() {
+        ProductPageAggregator aggregator = aggregator(Map.of(
+                "/api/products/p1", json("{\"id\":\"p1\",\"userId\":\"s1\",\"images\":[]}"),
+                "/api/users/seller/s1", json("{\"id\":\"s1\",\"name\":\"Seller\"}"),
+                "/api/cart/user/u1", json("{\"id\":\"c1\",\"items\":[]}")));
+
+        ProductPage page = aggregator.aggregate("p1", "u1", new HttpHeaders()).block(Duration.ofSeconds(5));
+
+        assertEquals("p1", page.product().get("id").asText());
+        assertEquals("Seller", page.seller().get("name").asText());
+        assertEquals("c1", page.cart().get("id").asText());
+        assertFalse(page.partial());
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void slowCartLeavesAPartialPageWithinItsTimeout() {
+        ProductPageAggregator aggregator = aggregator(Map.of(
+                "/api/products/p1", json("{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                "/api/users/seller/s1", json("{\"id\":\"s1\"}"),
+                "/api/cart/user/u1", json("{}").delayElement(Duration.ofSeconds(5))));
+
+        long start = System.nanoTime();
+        ProductPage page = aggregator.aggregate("p1", "u1", new HttpHeaders()).block(Duration.ofSeconds(5));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals("p1", page.product().get("id").asText());
+        assertNull(page.cart());
+        assertTrue(page.partial());
+        assertEquals(Map.of("cart", "timeout"), page.missing());
+        assertEquals(1.0, meterRegistry.get("gateway.bff.parts").tag("part", "cart").tag("result", "timeout")
+                .counter().count());
+    }
+
+    @Test
+    void missingProductSkipsSellerAndAnonymousCallersGetNoCart() {
+        ProductPage page = aggregator(Map.of()).aggregate("unknown", null, new HttpHeaders())
+                .block(Duration.ofSeconds(5));
+
+        assertNull(page.product());
+        assertEquals(Map.of("product", "not_found"), page.missing());
+        assertEquals(List.of("/api/products/unknown"), calls);
+    }
+
+    @Test
+    void anonymousCallersGetTheSellerFromItsPublicCard() {
+        ProductPageAggregator aggregator = aggregator(Map.of(
+                "/api/products/p1", json("{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                // What user-service answers an anonymous caller on the authenticated user lookup
+                "/api/users/s1/custom", Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build()),
+                "/api/users/seller/s1", json("{\"id\":\"s1\",\"name\":\"Seller\"}")));
+
+        ProductPage page = aggregator.aggregate("p1", null, new HttpHeaders()).block(Duration.ofSeconds(5));
+
+        assertEquals("Seller", page.seller().get("name").asText());
+        assertNull(page.cart());
+        assertFalse(page.partial());
+        assertEquals(Map.of(), page.missing());
+        assertEquals(List.of("/api/products/p1", "/api/users/seller/s1"), calls);
+    }
+}
@@ -0,0 +1,82 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.security.InternalIdentitySigner;
+
+class EdgeAuthenticationFilterTest {
+
+    private final JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+    private final EdgeAuthenticationFilter filter =
+            new EdgeAuthenticationFilter(true, jwtDecoder, "internal-secret", new SimpleMeterRegistry());
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    private static MockServerWebExchange request(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/orders")
+                .header(InternalIdentitySigner.USER_ID_HEADER, "spoofed-admin");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void invalidTokenIsRejectedAtTheEdge() {
+        when(jwtDecoder.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+        MockServerWebExchange exchange = request("Bearer bad");
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void validTokenForwardsSignedIdentity() {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(jwtDecoder.decode("good")).thenReturn(Jwt.withTokenValue("good").header("alg", "RS256")
+                .claim("userID", "user-1").claim("authorities", "SELLER").expiresAt(expiresAt).build());
+
+        filter.filter(request("Bearer good"), chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("user-1", headers.getFirst(InternalIdentitySigner.USER_ID_HEADER));
+        assertEquals("SELLER", headers.getFirst(InternalIdentitySigner.AUTHORITIES_HEADER));
+        assertEquals(new InternalIdentitySigner("internal-secret").sign("user-1", "SELLER", expiresAt.getEpochSecond(), "good"),
+                headers.getFirst(InternalIdentitySigner.SIGNATURE_HEADER));
+        assertEquals("user-1", forwarded.get().getAttribute(EdgeAuthenticationFilter.VERIFIED_USER_ID_ATTR));
+    }
+
+    @Test
+    void anonymousRequestPassesWithoutClientSuppliedIdentity() {
+        filter.filter(request(null), chain).block();
+
+        assertNotNull(forwarded.get());
+        assertNull(forwarded.get().getRequest().getHeaders().getFirst(InternalIdentitySigner.USER_ID_HEADER));
+    }
+}
@@ -0,0 +1,149 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.upstream.HedgeBudget;
+
+class HedgingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> calledHosts = new CopyOnWriteArrayList<>();
+    private final List<Integer> connectTimeouts = new CopyOnWriteArrayList<>();
+    private final ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+    private final GatewayFilterChain notRouted = exchange -> Mono.error(new AssertionError("should not proxy"));
+
+    HedgingFilterTest() {
+        when(discoveryClient.getInstances("product-service")).thenReturn(Flux.just(
+                new DefaultServiceInstance("slow", "product-service", "10.0.0.1", 8082, false),
+                new DefaultServiceInstance("fast", "product-service", "10.0.0.2", 8082, false)));
+    }
+
+    private HedgingFilter filter(HedgeBudget budget, Map<String, Duration> delays) {
+        return filter(budget, delays, 1024);
+    }
+
+    // Each instance answers its own body after its own delay
+    private HedgingFilter filter(HedgeBudget budget, Map<String, Duration> delays, int maxBodyBytes) {
+        return new HedgingFilter(true, List.of(), List.of("/api/products/*"), 0.95, Duration.ofMillis(10),
+                Duration.ofMillis(50), budget, connectTimeout -> WebClient.builder().exchangeFunction(request -> {
+                    String host = request.url().getHost();
+                    calledHosts.add(host);
+                    connectTimeouts.add(connectTimeout);
+                    String body = "{\"from\":\"" + host + "\"}";
+                    return Mono.delay(delays.get(host)).map(tick -> ClientResponse.create(HttpStatus.OK)
+                            .header("Content-Type", "application/json")
+                            .header("Content-Length", String.valueOf(body.length()))
+                            .body(body)
+                            .build());
+                }).build(), maxBodyBytes, discoveryClient, () -> null, null, meterRegistry);
+    }
+
+    private static MockServerWebExchange routed() {
+        return routed(Map.of());
+    }
+
+    private static MockServerWebExchange routed(Map<String, Object> metadata) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/p1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async().id("product-service")
+                .uri("lb://product-service").metadata(metadata).predicate(e -> true).build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://10.0.0.1:8082/api/products/p1"));
+        return exchange;
+    }
+
+    @Test
+    void slowPrimaryIsHedgedToAnotherInstance() {
+        HedgingFilter filter = filter(new HedgeBudget(0.1, 5),
+                Map.of("10.0.0.1", Duration.ofSeconds(3), "10.0.0.2", Duration.ofMillis(10)));
+        MockServerWebExchange exchange = routed();
+
+        filter.filter(exchange, notRouted).block(Duration.ofSeconds(2));
+
+        assertEquals("{\"from\":\"10.0.0.2\"}", exchange.getResponse().getBodyAsString().block());
+        assertEquals("true", exchange.getResponse().getHeaders().getFirst(HedgingFilter.HEDGED_HEADER));
+        assertEquals(List.of("10.0.0.1", "10.0.0.2"), calledHosts);
+        assertEquals(1.0, meterRegistry.get("gateway.hedging.requests").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void fastPrimaryIsNeverHedged() {
+        HedgingFilter filter = filter(new HedgeBudget(0.1, 5),
+                Map.of("10.0.0.1", Duration.ofMillis(1), "10.0.0.2", Duration.ofMillis(1)));
+        MockServerWebExchange exchange = routed();
+
+        filter.filter(exchange, notRouted).block(Duration.ofSeconds(2));
+
+        assertEquals("{\"from\":\"10.0.0.1\"}", exchange.getResponse().getBodyAsString().block());
+        assertNull(exchange.getResponse().getHeaders().getFirst(HedgingFilter.HEDGED_HEADER));
+        assertEquals(List.of("10.0.0.1"), calledHosts);
+    }
+
+    @Test
+    void exhaustedBudgetWaitsForThePrimary() {
+        HedgingFilter filter = filter(new HedgeBudget(0.1, 0),
+                Map.of("10.0.0.1", Duration.ofMillis(200), "10.0.0.2", Duration.ofMillis(1)));
+        MockServerWebExchange exchange = routed();
+
+        filter.filter(exchange, notRouted).block(Duration.ofSeconds(2));
+
+        assertEquals("{\"from\":\"10.0.0.1\"}", exchange.getResponse().getBodyAsString().block());
+        assertEquals(List.of("10.0.0.1"), calledHosts);
+        assertEquals(1.0, meterRegistry.get("gateway.hedging.hedges").tag("result", "budget_exhausted")
+                .counter().count());
+    }
+
+    @Test
+    void routeConnectTimeoutAppliesToBothCalls() {
+        HedgingFilter filter = filter(new HedgeBudget(0.1, 5),
+                Map.of("10.0.0.1", Duration.ofSeconds(3), "10.0.0.2", Duration.ofMillis(10)));
+
+        filter.filter(routed(Map.of(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR, 500)), notRouted)
+                .block(Duration.ofSeconds(2));
+
+        assertEquals(List.of(500, 500), connectTimeouts);
+    }
+
+    @Test
+    void oversizedBodyFallsBackToNormalRouting() {
+        HedgingFilter filter = filter(new HedgeBudget(0.1, 5),
+                Map.of("10.0.0.1", Duration.ofMillis(1), "10.0.0.2", Duration.ofMillis(1)), 4);
+        MockServerWebExchange exchange = routed();
+        AtomicBoolean routedNormally = new AtomicBoolean();
+        GatewayFilterChain routing = routedExchange -> {
+            routedNormally.set(!ServerWebExchangeUtils.isAlreadyRouted(routedExchange));
+            return Mono.empty();
+        };
+
+        filter.filter(exchange, routing).block(Duration.ofSeconds(2));
+
+        assertTrue(routedNormally.get());
+        assertEquals(1.0, meterRegistry.get("gateway.hedging.oversized").counter().count());
+    }
+}
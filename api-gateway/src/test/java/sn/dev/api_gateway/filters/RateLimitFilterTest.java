@@ -0,0 +1,108 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.ratelimit.ClientKeyResolver;
+import sn.dev.api_gateway.ratelimit.RateLimitProperties;
+import sn.dev.api_gateway.ratelimit.TokenBucketRateLimiter;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private RateLimitFilter filter(long capacity, double refillPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPaths(List.of("/api/users/login"));
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(refillPerSecond);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRules().put("login", rule);
+        return new RateLimitFilter(properties, new ClientKeyResolver(), meterRegistry);
+    }
+
+    private static MockServerWebExchange login(String ip, String authorization) {
+        MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post("/api/users/login")
+                .remoteAddress(new InetSocketAddress(ip, 40000));
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String bearer(String userId) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = encoder.encodeToString(("{\"userID\":\"" + userId + "\"}").getBytes(StandardCharsets.UTF_8));
+        return "Bearer " + encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + payload + ".signature";
+    }
+
+    @Test
+    void burstAboveCapacityGets429WithRetryAfter() {
+        RateLimitFilter filter = filter(2, 0.5);
+
+        filter.filter(login("10.0.0.1", null), chain).block();
+        filter.filter(login("10.0.0.1", null), chain).block();
+        MockServerWebExchange rejected = login("10.0.0.1", null);
+        filter.filter(rejected, chain).block();
+        // Another client keeps its own bucket
+        filter.filter(login("10.0.0.2", null), chain).block();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.requests")
+                .tag("rule", "login").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void bearerUserIdIsTheKeyAcrossAddresses() {
+        RateLimitFilter filter = filter(1, 0.1);
+
+        filter.filter(login("10.0.0.1", bearer("user-1")), chain).block();
+        MockServerWebExchange sameUser = login("10.0.0.9", bearer("user-1"));
+        filter.filter(sameUser, chain).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, sameUser.getResponse().getStatusCode());
+        // A malformed token falls back to the client address
+        assertEquals("ip:10.0.0.3", new ClientKeyResolver().resolveKey(login("10.0.0.3", "Bearer not-a-jwt")));
+    }
+
+    @Test
+    void bucketRefillsOverTime() {
+        AtomicLong now = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 4, 100, now::get);
+
+        assertTrue(limiter.tryAcquire("k").allowed());
+        TokenBucketRateLimiter.Decision rejected = limiter.tryAcquire("k");
+        assertFalse(rejected.allowed());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rejected.retryAfterNanos());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(limiter.tryAcquire("k").allowed());
+    }
+}
@@ -0,0 +1,121 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+
+    private RequestCoalescingFilter filter(Duration maxWait, int maxBodyBytes) {
+        return new RequestCoalescingFilter(true, List.of("/api/products/*"), maxWait, maxBodyBytes, meterRegistry);
+    }
+
+    // Upstream answers only once the test releases it, so that the requests overlap
+    private GatewayFilterChain slowUpstream(String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return release.asMono().then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+            }));
+        };
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneUpstreamCall() {
+        RequestCoalescingFilter filter = filter(Duration.ofSeconds(5), 1024);
+        GatewayFilterChain chain = slowUpstream("{\"id\":\"p1\"}");
+        MockServerWebExchange leader = get("/api/products/p1");
+        MockServerWebExchange follower = get("/api/products/p1");
+
+        Mono<Void> leaderCall = filter.filter(leader, chain).cache();
+        Mono<Void> followerCall = filter.filter(follower, chain).cache();
+        leaderCall.subscribe();
+        followerCall.subscribe();
+        release.tryEmitEmpty();
+        leaderCall.block(Duration.ofSeconds(5));
+        followerCall.block(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"id\":\"p1\"}", follower.getResponse().getBodyAsString().block());
+        assertEquals("true", follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+        assertNull(leader.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+    }
+
+    @Test
+    void requestsWithDifferentCodingsShareOneUpstreamCall() {
+        RequestCoalescingFilter filter = filter(Duration.ofSeconds(5), 1024);
+        GatewayFilterChain chain = slowUpstream("{\"id\":\"p1\"}");
+        MockServerWebExchange gzip = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/products/p1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        MockServerWebExchange identity = get("/api/products/p1");
+
+        Mono<Void> gzipCall = filter.filter(gzip, chain).cache();
+        Mono<Void> identityCall = filter.filter(identity, chain).cache();
+        gzipCall.subscribe();
+        identityCall.subscribe();
+        release.tryEmitEmpty();
+        gzipCall.block(Duration.ofSeconds(5));
+        identityCall.block(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"id\":\"p1\"}", identity.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void followerFallsBackWhenLeaderBodyIsTooLarge() {
+        RequestCoalescingFilter filter = filter(Duration.ofSeconds(5), 4);
+        GatewayFilterChain chain = slowUpstream("a body larger than four bytes");
+        MockServerWebExchange follower = get("/api/products/p1");
+
+        Mono<Void> leaderCall = filter.filter(get("/api/products/p1"), chain).cache();
+        Mono<Void> followerCall = filter.filter(follower, chain).cache();
+        leaderCall.subscribe();
+        followerCall.subscribe();
+        release.tryEmitEmpty();
+        followerCall.block(Duration.ofSeconds(5));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("a body larger than four bytes", follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.requests").tag("role", "fallback").counter().count());
+    }
+
+    @Test
+    void followerFallsBackAfterMaxWait() {
+        RequestCoalescingFilter filter = filter(Duration.ofMillis(50), 1024);
+        GatewayFilterChain chain = slowUpstream("late");
+
+        filter.filter(get("/api/products/p1"), chain).subscribe();
+        // Leader never released: the follower gives up waiting and makes its own call
+        Mono<Void> followerCall = filter.filter(get("/api/products/p1"), chain).cache();
+        followerCall.subscribe();
+        Mono.delay(Duration.ofMillis(200)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.requests").tag("role", "fallback").counter().count());
+    }
+}
@@ -0,0 +1,150 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.cache.ResponseCacheStore;
+
+class ResponseCacheFilterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(true, List.of("/api/products", "/api/products/*"),
+            new ResponseCacheStore(100, 1_000_000), 100_000, meterRegistry, clock);
+
+    private final List<ServerWebExchange> upstreamCalls = new ArrayList<>();
+
+    private GatewayFilterChain upstream(HttpStatus status, String cacheControl, String etag, String body) {
+        return exchange -> {
+            upstreamCalls.add(exchange);
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            if (etag != null) {
+                exchange.getResponse().getHeaders().setETag(etag);
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+
+    private MockServerWebExchange get(String path, String... headers) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void secondAnonymousGetIsServedFromCache() {
+        GatewayFilterChain chain = upstream(HttpStatus.OK, "public, max-age=300", null, "{\"id\":\"p1\"}");
+
+        MockServerWebExchange first = get("/api/products/p1");
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = get("/api/products/p1");
+        filter.filter(second, chain).block();
+
+        assertEquals(1, upstreamCalls.size());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("{\"id\":\"p1\"}", second.getResponse().getBodyAsString().block());
+        assertEquals(0.5, meterRegistry.get("gateway.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void clientsWithDifferentCodingsShareOneEntry() {
+        GatewayFilterChain chain = upstream(HttpStatus.OK, "public, max-age=300", null, "{\"id\":\"p1\"}");
+
+        filter.filter(get("/api/products/p1", HttpHeaders.ACCEPT_ENCODING, "gzip, br"), chain).block();
+        MockServerWebExchange identity = get("/api/products/p1");
+        filter.filter(identity, chain).block();
+
+        assertEquals(1, upstreamCalls.size());
+        // The upstream is asked for an identity body; compression happens outside the cache
+        assertNull(upstreamCalls.get(0).getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals("HIT", identity.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("{\"id\":\"p1\"}", identity.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void privateAuthenticatedAndUnlistedRequestsAreNotCached() {
+        filter.filter(get("/api/products/p1"), upstream(HttpStatus.OK, "private, max-age=300", null, "a")).block();
+        filter.filter(get("/api/products/p1"), upstream(HttpStatus.OK, "public, max-age=300", null, "a")).block();
+
+        filter.filter(get("/api/products/p2", HttpHeaders.AUTHORIZATION, "Bearer t"),
+                upstream(HttpStatus.OK, "public, max-age=300", null, "b")).block();
+        filter.filter(get("/api/products/p2", HttpHeaders.AUTHORIZATION, "Bearer t"),
+                upstream(HttpStatus.OK, "public, max-age=300", null, "b")).block();
+
+        filter.filter(get("/api/orders"), upstream(HttpStatus.OK, "public, max-age=300", null, "c")).block();
+        filter.filter(get("/api/orders"), upstream(HttpStatus.OK, "public, max-age=300", null, "c")).block();
+
+        assertEquals(6, upstreamCalls.size());
+    }
+
+    @Test
+    void staleEntryIsRevalidatedWithItsEtag() {
+        filter.filter(get("/api/products?page=0"), upstream(HttpStatus.OK, "public, max-age=60", "\"v1\"", "page")).block();
+        clock.advanceSeconds(120);
+
+        MockServerWebExchange revalidated = get("/api/products?page=0");
+        filter.filter(revalidated, upstream(HttpStatus.NOT_MODIFIED, "public, max-age=60", "\"v1\"", "")).block();
+
+        assertEquals("\"v1\"", upstreamCalls.get(1).getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, revalidated.getResponse().getStatusCode());
+        assertEquals("REVALIDATED", revalidated.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("page", revalidated.getResponse().getBodyAsString().block());
+
+        // Fresh again: a client holding the same version gets a 304 without reaching product-service
+        MockServerWebExchange conditional = get("/api/products?page=0", HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        filter.filter(conditional, upstream(HttpStatus.OK, "public, max-age=60", "\"v2\"", "other")).block();
+        assertEquals(2, upstreamCalls.size());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertNull(conditional.getResponse().getHeaders().getContentType());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class ResponseCompressionFilterTest {
+
+    private static final String PAGE = "{\"content\":[" + "{\"id\":\"p1\",\"name\":\"Product\",\"media\":[]},".repeat(100)
+            + "{}]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(true,
+            List.of("application/json", "application/*+json"), 1024, 6, meterRegistry);
+
+    // Writes the body in two chunks, as an upstream streaming through the gateway would
+    private static GatewayFilterChain upstream(String body, MediaType contentType) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            int half = bytes.length / 2;
+            return exchange.getResponse().writeWith(Flux.just(
+                    exchange.getResponse().bufferFactory().wrap(Arrays.copyOfRange(bytes, 0, half)),
+                    exchange.getResponse().bufferFactory().wrap(Arrays.copyOfRange(bytes, half, bytes.length))));
+        };
+    }
+
+    private static byte[] body(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody()).map(buffer -> {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            return bytes;
+        }).block(Duration.ofSeconds(5));
+    }
+
+    private static MockServerWebExchange get(String acceptEncoding) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/products");
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void largeJsonIsGzippedAndBytesSavedAreCounted() throws IOException {
+        MockServerWebExchange exchange = get("br;q=1.0, gzip;q=0.8, deflate;q=0.5");
+
+        filter.filter(exchange, upstream(PAGE, MediaType.APPLICATION_JSON)).block(Duration.ofSeconds(5));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), headers.getVary());
+        assertEquals("W/\"v1\"", headers.getETag());
+        byte[] compressed = body(exchange);
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), gunzip.readAllBytes());
+        }
+
+        double saved = meterRegistry.get("gateway.compression.bytes.saved").tag("encoding", "gzip").counter().count();
+        assertEquals(PAGE.length() - compressed.length, saved);
+        assertTrue(saved > PAGE.length() / 2);
+    }
+
+    @Test
+    void smallOrUnacceptedResponsesStayIdentity() {
+        MockServerWebExchange small = get("gzip");
+        filter.filter(small, exchange -> {
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getResponse().getHeaders().setContentLength(2);
+            DataBuffer buffer = exchange.getResponse().bufferFactory().wrap("{}".getBytes(StandardCharsets.UTF_8));
+            return exchange.getResponse().writeWith(Flux.just(buffer));
+        }).block(Duration.ofSeconds(5));
+        assertNull(small.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        MockServerWebExchange refused = get("gzip;q=0, identity");
+        filter.filter(refused, upstream(PAGE, MediaType.APPLICATION_JSON)).block(Duration.ofSeconds(5));
+        assertNull(refused.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), refused.getResponse().getHeaders().getVary());
+        assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), body(refused));
+
+        assertEquals(2.0, meterRegistry.get("gateway.compression.responses").tag("encoding", "identity").counter().count());
+    }
+
+    @Test
+    void negotiationHonoursQualityAndServerPreference() {
+        assertEquals(ResponseCompressionFilter.Coding.GZIP, ResponseCompressionFilter.negotiate(List.of("deflate, gzip")));
+        assertEquals(ResponseCompressionFilter.Coding.DEFLATE,
+                ResponseCompressionFilter.negotiate(List.of("gzip;q=0.2, deflate")));
+        assertEquals(ResponseCompressionFilter.Coding.GZIP, ResponseCompressionFilter.negotiate(List.of("*")));
+        assertNull(ResponseCompressionFilter.negotiate(List.of("br, identity")));
+        assertNull(ResponseCompressionFilter.negotiate(null));
+    }
+}
@@ -0,0 +1,59 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class UpstreamMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamMetricsFilter filter = new UpstreamMetricsFilter(meterRegistry);
+
+    private static MockServerWebExchange routedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/p1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://10.0.0.7:8082/api/products/p1"));
+        return exchange;
+    }
+
+    @Test
+    void recordsLatencyPerRouteAndInstance() {
+        MockServerWebExchange exchange = routedExchange();
+
+        filter.filter(exchange, e -> {
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }).block();
+
+        assertEquals(1, meterRegistry.get("gateway.upstream.requests").tag("route", "product-service")
+                .tag("instance", "10.0.0.7:8082").tag("outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void responseTimeoutIsCountedAsServerError() {
+        MockServerWebExchange exchange = routedExchange();
+        ResponseStatusException timeout = new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                "Response took longer than timeout", new TimeoutException());
+
+        assertThrows(ResponseStatusException.class, () -> filter.filter(exchange, e -> Mono.error(timeout)).block());
+
+        assertEquals(1.0, meterRegistry.get("gateway.upstream.errors").tag("instance", "10.0.0.7:8082")
+                .tag("type", "response_timeout").counter().count());
+        assertEquals(1, meterRegistry.get("gateway.upstream.requests").tag("outcome", "SERVER_ERROR").timer().count());
+    }
+}
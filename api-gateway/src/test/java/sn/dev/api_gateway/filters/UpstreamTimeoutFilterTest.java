@@ -0,0 +1,70 @@
+package sn.dev.api_gateway.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.upstream.UpstreamTimeoutProperties;
+
+class UpstreamTimeoutFilterTest {
+
+    private final AtomicReference<Route> routed = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        routed.set(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+        return Mono.empty();
+    };
+
+    private static UpstreamTimeoutFilter filter() {
+        UpstreamTimeoutProperties.Rule catalog = new UpstreamTimeoutProperties.Rule();
+        catalog.setPaths(List.of("/api/products/*"));
+        catalog.setMethods(List.of("GET"));
+        catalog.setResponseTimeout(Duration.ofSeconds(5));
+        catalog.setConnectTimeout(Duration.ofMillis(500));
+        UpstreamTimeoutProperties properties = new UpstreamTimeoutProperties();
+        properties.setTimeouts(Map.of("catalog", catalog));
+        return new UpstreamTimeoutFilter(properties);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest request, Route route) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static Route route() {
+        return Route.async().id("product-service").uri("lb://product-service").predicate(exchange -> true)
+                .metadata("owner", "catalog").build();
+    }
+
+    @Test
+    void matchingRuleSetsRouteTimeoutMetadata() {
+        filter().filter(exchange(MockServerHttpRequest.get("/api/products/p1").build(), route()), chain).block();
+
+        Map<String, Object> metadata = routed.get().getMetadata();
+        assertEquals(5000L, metadata.get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR));
+        assertEquals(500, metadata.get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR));
+        assertEquals("catalog", metadata.get("owner"));
+        assertEquals("product-service", routed.get().getId());
+    }
+
+    @Test
+    void otherMethodsKeepTheRouteDefaults() {
+        Route route = route();
+        filter().filter(exchange(MockServerHttpRequest.put("/api/products/p1").build(), route), chain).block();
+
+        assertSame(route, routed.get());
+    }
+}
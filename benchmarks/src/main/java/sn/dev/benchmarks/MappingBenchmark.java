@@ -0,0 +1,116 @@
+package sn.dev.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sn.dev.order_service.client.product.ProductClient;
+import sn.dev.order_service.data.entities.Order;
+import sn.dev.order_service.data.entities.OrderItem;
+import sn.dev.order_service.data.entities.SubOrder;
+import sn.dev.order_service.web.mappers.OrdersItemsMappers;
+import sn.dev.order_service.web.mappers.OrdersMappers;
+import sn.dev.order_service.web.mappers.SubOrderMapper;
+import sn.dev.product_service.data.entities.Media;
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.web.dto.ProductResponseDTO;
+
+/**
+ * Entity-to-DTO mapping and the JSON serialization of the result, the work behind order history, seller
+ * sub-order and product listing pages. The ObjectMapper is built like Spring Boot's (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "20", "100"})
+    int pageSize;
+
+    @Param({"5"})
+    int itemsPerOrder;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private OrdersMappers ordersMappers;
+    private SubOrderMapper subOrderMapper;
+    private List<Order> orders;
+    private List<SubOrder> subOrders;
+    private List<Product> products;
+    private List<List<Media>> productImages;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ordersMappers = new OrdersMappers(new OrdersItemsMappers(Stubs.stub(ProductClient.class, Map.of())));
+        subOrderMapper = new SubOrderMapper();
+        orders = new ArrayList<>(pageSize);
+        subOrders = new ArrayList<>(pageSize);
+        products = new ArrayList<>(pageSize);
+        productImages = new ArrayList<>(pageSize);
+        for (int n = 0; n < pageSize; n++) {
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int i = 0; i < itemsPerOrder; i++) {
+                items.add(new OrderItem("item-" + n + "-" + i, "product-" + random.nextInt(1000), "order-" + n,
+                        "seller-" + random.nextInt(20), 1 + random.nextInt(5), 1 + random.nextInt(50_000) / 100.0));
+            }
+            Order order = new Order("user-1", 0.0, "DELIVERED", "CARD");
+            order.setId("order-" + n);
+            order.setCreatedAt(Instant.EPOCH.plusSeconds(n));
+            order.setOrderItemList(items);
+            order.setTotal(items.stream().mapToDouble(item -> item.getQuantity() * item.getUnitPrice()).sum());
+            orders.add(order);
+
+            SubOrder subOrder = new SubOrder(order.getId(), "seller-1", "user-1", order.getTotal(), "SHIPPED", items);
+            subOrder.setId("sub-order-" + n);
+            subOrders.add(subOrder);
+
+            Product product = new Product("Product " + n, "Description of product " + n + " ".repeat(100),
+                    1 + random.nextInt(50_000) / 100.0, random.nextInt(100), "seller-1");
+            product.setId("product-" + n);
+            products.add(product);
+            productImages.add(List.of(new Media("media-" + n + "-0", "https://storage/product-" + n + "-0.png"),
+                    new Media("media-" + n + "-1", "https://storage/product-" + n + "-1.png")));
+        }
+    }
+
+    @Benchmark
+    public String orderHistoryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(orders.stream().map(ordersMappers::toResponse).toList());
+    }
+
+    @Benchmark
+    public String sellerSubOrdersPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(subOrders.stream().map(subOrderMapper::toResponse).toList());
+    }
+
+    @Benchmark
+    public String productListingPage() throws JsonProcessingException {
+        List<ProductResponseDTO> page = new ArrayList<>(products.size());
+        for (int n = 0; n < products.size(); n++) {
+            page.add(new ProductResponseDTO(products.get(n), productImages.get(n)));
+        }
+        return objectMapper.writeValueAsString(page);
+    }
+}
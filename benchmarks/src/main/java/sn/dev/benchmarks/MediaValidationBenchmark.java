@@ -0,0 +1,100 @@
+package sn.dev.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.media_service.services.impl.CloudStorageServiceImpl;
+import sn.dev.media_service.services.impl.MediaServiceImpl;
+
+/**
+ * Upload checks that run on the request thread before anything reaches cloud storage: the name, size, MIME
+ * type and magic-byte validation of {@link MediaServiceImpl} and the regex chain of
+ * {@link CloudStorageServiceImpl}'s file name sanitizer. Both are private, so they are reached through method
+ * handles; neither touches the repository or the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaValidationBenchmark {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+
+    private MethodHandle validateFile;
+    private MethodHandle sanitizeFileName;
+    private MediaServiceImpl mediaService;
+    private CloudStorageServiceImpl cloudStorageService;
+
+    /** Upload payloads, so only the validation benchmarks are crossed with the file sizes. */
+    @State(Scope.Benchmark)
+    public static class Uploads {
+
+        @Param({"16384", "1048576"})
+        int fileSize;
+
+        MultipartFile png;
+        MultipartFile jpeg;
+
+        @Setup
+        public void setUp() {
+            png = new MockMultipartFile("file", "product-photo_01.png", "image/png", image(PNG_SIGNATURE));
+            jpeg = new MockMultipartFile("file", "IMG_20240101.jpeg", "image/jpeg", image(JPEG_SIGNATURE));
+        }
+
+        private byte[] image(byte[] signature) {
+            byte[] bytes = new byte[fileSize];
+            System.arraycopy(signature, 0, bytes, 0, signature.length);
+            return bytes;
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        mediaService = new MediaServiceImpl(null, null, Runnable::run);
+        cloudStorageService = new CloudStorageServiceImpl(null);
+        validateFile = MethodHandles.privateLookupIn(MediaServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(MediaServiceImpl.class, "validateFile",
+                        MethodType.methodType(void.class, MultipartFile.class));
+        sanitizeFileName = MethodHandles.privateLookupIn(CloudStorageServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(CloudStorageServiceImpl.class, "sanitizeFileName",
+                        MethodType.methodType(String.class, String.class));
+    }
+
+    @Benchmark
+    public void validatePng(Uploads uploads) throws Throwable {
+        validateFile.invokeExact(mediaService, uploads.png);
+    }
+
+    @Benchmark
+    public void validateJpeg(Uploads uploads) throws Throwable {
+        validateFile.invokeExact(mediaService, uploads.jpeg);
+    }
+
+    @Benchmark
+    public void sanitizeFileNames(Blackhole blackhole) throws Throwable {
+        blackhole.consume((String) sanitizeFileName.invokeExact(cloudStorageService, "product-photo_01.png"));
+        blackhole.consume((String) sanitizeFileName.invokeExact(cloudStorageService,
+                "  Ma belle photo (copie) 🎉🎉 -- été 2024...final.JPEG"));
+        blackhole.consume((String) sanitizeFileName.invokeExact(cloudStorageService, "___.---.png"));
+    }
+}
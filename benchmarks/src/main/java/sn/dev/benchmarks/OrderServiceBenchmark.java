@@ -0,0 +1,96 @@
+package sn.dev.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sn.dev.order_service.client.product.ProductClient;
+import sn.dev.order_service.data.entities.Order;
+import sn.dev.order_service.data.entities.OrderItem;
+import sn.dev.order_service.data.repository.OrderRepository;
+import sn.dev.order_service.data.repository.SubOrderRepository;
+import sn.dev.order_service.services.impl.OrderServiceImpl;
+import sn.dev.order_service.web.dto.ProductResponseDto;
+import sn.dev.order_service.web.dto.UserProfileStatisticsDto;
+
+/**
+ * Order totals and the profile statistics grouping (per-product quantity, revenue and order count, top 5 by
+ * each) over synthetic order histories. The repository and product client answer from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int orders;
+
+    @Param({"5"})
+    int itemsPerOrder;
+
+    @Param({"200"})
+    int distinctProducts;
+
+    private OrderServiceImpl orderService;
+    private List<OrderItem> largeCart;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Order> history = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int i = 0; i < itemsPerOrder; i++) {
+                items.add(new OrderItem(null, "product-" + random.nextInt(distinctProducts), "order-" + o,
+                        "seller-" + random.nextInt(20), 1 + random.nextInt(5), 1 + random.nextInt(50_000) / 100.0));
+            }
+            Order order = new Order("user-1", 0.0, o % 10 == 0 ? "CART" : "DELIVERED", "CARD");
+            order.setId("order-" + o);
+            order.setCreatedAt(Instant.EPOCH);
+            order.setOrderItemList(items);
+            order.setTotal(items.stream().mapToDouble(item -> item.getQuantity() * item.getUnitPrice()).sum());
+            history.add(order);
+        }
+        largeCart = history.stream().flatMap(order -> order.getOrderItemList().stream()).toList();
+
+        OrderRepository orderRepository = Stubs.stub(OrderRepository.class,
+                Map.of("findByUserId", args -> history));
+        ProductClient productClient = Stubs.stub(ProductClient.class, Map.of("getById", args -> {
+            ProductResponseDto product = new ProductResponseDto();
+            product.setId((String) args[0]);
+            product.setName("Product " + args[0]);
+            product.setPrice(10.0);
+            return product;
+        }));
+        orderService = new OrderServiceImpl(orderRepository, Stubs.stub(SubOrderRepository.class, Map.of()),
+                productClient);
+    }
+
+    @Benchmark
+    public Double computeOrdersItems() {
+        return orderService.computeOrdersItems(largeCart);
+    }
+
+    @Benchmark
+    public UserProfileStatisticsDto getUserStatistics() {
+        return orderService.getUserStatistics("user-1");
+    }
+}
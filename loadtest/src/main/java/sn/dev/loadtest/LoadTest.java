@@ -0,0 +1,129 @@
+package sn.dev.loadtest;
+
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+import lombok.extern.slf4j.Slf4j;
+import sn.dev.loadtest.traffic.Fixtures;
+import sn.dev.loadtest.traffic.LoadDriver;
+import sn.dev.loadtest.traffic.Traffic;
+
+/**
+ * Boots the platform locally ({@link LocalDeployment}), prepares accounts ({@link Fixtures}), drives the scenarios
+ * through the gateway ({@link LoadDriver}) for a warmup then a measured phase, and reports per-endpoint latency
+ * percentiles to the console and {@code <work-dir>/report.json}. See {@link LoadTestSettings} for the options.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        HttpClient client = client();
+
+        try (LocalDeployment deployment = LocalDeployment.start(settings, client)) {
+            Thread shutdownHook = new Thread(deployment::close);
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+            Fixtures fixtures = Fixtures.prepare(
+                    Traffic.direct(client, deployment.service("user-service"), settings.requestTimeout()),
+                    Traffic.direct(client, deployment.service("product-service"), settings.requestTimeout()),
+                    Traffic.direct(client, deployment.service("order-service"), settings.requestTimeout()),
+                    settings);
+
+            Traffic traffic = Traffic.through(client, deployment.gateway(), settings.requestTimeout());
+            Duration measured;
+            try (LoadDriver driver = new LoadDriver(settings.rates(), settings.maxSessions(), traffic, fixtures)) {
+                log.info("🔥 Chauffe pendant {}", settings.warmup());
+                driver.start();
+                Thread.sleep(settings.warmup());
+                traffic.reset();
+                driver.reset();
+
+                log.info("⏱️ Mesure pendant {}", settings.duration());
+                long start = System.nanoTime();
+                Thread.sleep(settings.duration());
+                measured = Duration.ofNanos(System.nanoTime() - start);
+                driver.stop(settings.requestTimeout());
+
+                Map<String, Object> standIns = new LinkedHashMap<>();
+                standIns.put("storageUploads", deployment.storage().uploads());
+                standIns.put("storageUploadedBytes", deployment.storage().uploadedBytes());
+                standIns.put("indexedProducts", deployment.indexedProducts());
+
+                Path file = settings.workDir().resolve("report.json");
+                Report report = new Report(traffic.endpoints(), measured)
+                        .with("settings", settings.describe())
+                        .with("fixtures", fixtures.describe())
+                        .with("sessions", driver.sessions())
+                        .with("standIns", standIns);
+                report.print(System.out);
+                report.write(file);
+                log.info("📝 Rapport écrit dans {}", file);
+            }
+
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+    }
+
+    /**
+     * Client for the whole run; trusts the gateway's self-signed certificate, whatever the host name.
+     */
+    private static HttpClient client() throws GeneralSecurityException {
+        System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] {new TrustAll()}, new SecureRandom());
+        return HttpClient.newBuilder()
+                .sslContext(sslContext)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    private static final class TrustAll extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
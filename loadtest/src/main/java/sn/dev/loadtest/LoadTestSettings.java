@@ -0,0 +1,202 @@
+package sn.dev.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import sn.dev.loadtest.traffic.Scenario;
+
+/**
+ * Command-line options of the harness, all {@code --name=value}:
+ * <ul>
+ * <li>{@code --duration=PT60S}, {@code --warmup=PT20S}: measured phase, and the unrecorded phase before it</li>
+ * <li>{@code --<scenario>.rate=N}: sessions started per second (browse, search, cart, checkout, seller), open model</li>
+ * <li>{@code --max-sessions=1000}: sessions in flight before new arrivals are dropped (and counted)</li>
+ * <li>{@code --request-timeout=PT10S}, {@code --startup-timeout=PT10M}</li>
+ * <li>{@code --clients=40}, {@code --sellers=8}, {@code --products-per-seller=3}: accounts the scenarios act as</li>
+ * <li>{@code --data.products=20000}, {@code --data.sellers=500}, {@code --data.clients=5000},
+ * {@code --data.orders=20000}: catalog and history generated by the services' datagen profile</li>
+ * <li>{@code --service-jvm-options="-Xms128m -Xmx512m"}: options of every service JVM</li>
+ * <li>{@code --set.<service>.<property>=value}: extra property for one service (e.g. {@code
+ * --set.order-service.spring.threads.virtual.enabled=true})</li>
+ * <li>{@code --mongo-uri=mongodb://host:port}, {@code --elasticsearch=host:port}: use a local server instead of
+ * the in-memory stand-in</li>
+ * <li>{@code --project-dir=..}, {@code --work-dir=target/loadtest}: where the service jars are, where logs and the
+ * report go</li>
+ * </ul>
+ */
+public final class LoadTestSettings {
+
+    static final List<String> SERVICES =
+            List.of("user-service", "product-service", "media-service", "order-service", "api-gateway");
+
+    private static final Set<String> OPTIONS = Set.of("duration", "warmup", "max-sessions", "request-timeout",
+            "startup-timeout", "clients", "sellers", "products-per-seller", "data.products", "data.sellers",
+            "data.clients", "data.orders", "service-jvm-options", "mongo-uri", "elasticsearch", "project-dir",
+            "work-dir");
+
+    private final Map<String, String> values;
+    private final Map<Scenario, Double> rates;
+    private final Map<String, Map<String, String>> serviceProperties;
+
+    private LoadTestSettings(Map<String, String> values, Map<Scenario, Double> rates,
+            Map<String, Map<String, String>> serviceProperties) {
+        this.values = values;
+        this.rates = rates;
+        this.serviceProperties = serviceProperties;
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        Map<Scenario, Double> rates = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            rates.put(scenario, scenario.defaultRate());
+        }
+        Map<String, Map<String, String>> serviceProperties = new HashMap<>();
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+
+            if (name.startsWith("set.")) {
+                String rest = name.substring("set.".length());
+                int dot = rest.indexOf('.');
+                String service = dot < 0 ? rest : rest.substring(0, dot);
+                if (dot < 0 || !SERVICES.contains(service)) {
+                    throw new IllegalArgumentException("Expected --set.<service>.<property>=value with a service in "
+                            + SERVICES + ", got: " + arg);
+                }
+                serviceProperties.computeIfAbsent(service, key -> new LinkedHashMap<>())
+                        .put(rest.substring(dot + 1), value);
+            } else if (name.endsWith(".rate")) {
+                Scenario scenario = Scenario.valueOf(
+                        name.substring(0, name.length() - ".rate".length()).toUpperCase(Locale.ROOT));
+                rates.put(scenario, Double.parseDouble(value));
+            } else if (OPTIONS.contains(name)) {
+                values.put(name, value);
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return new LoadTestSettings(values, rates, serviceProperties);
+    }
+
+    public Duration duration() {
+        return duration("duration", "PT60S");
+    }
+
+    public Duration warmup() {
+        return duration("warmup", "PT20S");
+    }
+
+    public int maxSessions() {
+        return integer("max-sessions", 1000);
+    }
+
+    public Duration requestTimeout() {
+        return duration("request-timeout", "PT10S");
+    }
+
+    public Duration startupTimeout() {
+        return duration("startup-timeout", "PT10M");
+    }
+
+    public int clients() {
+        return integer("clients", 40);
+    }
+
+    public int sellers() {
+        return integer("sellers", 8);
+    }
+
+    public int productsPerSeller() {
+        return integer("products-per-seller", 3);
+    }
+
+    public Map<Scenario, Double> rates() {
+        return rates;
+    }
+
+    /**
+     * Counts for the services' "datagen" profile, the same for every service so generated ids line up.
+     */
+    public Map<String, String> datagenProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("datagen.products", values.getOrDefault("data.products", "20000"));
+        properties.put("datagen.users.sellers", values.getOrDefault("data.sellers", "500"));
+        properties.put("datagen.users.clients", values.getOrDefault("data.clients", "5000"));
+        properties.put("datagen.orders", values.getOrDefault("data.orders", "20000"));
+        return properties;
+    }
+
+    public List<String> serviceJvmOptions() {
+        return new ArrayList<>(List.of(values.getOrDefault("service-jvm-options", "-Xms128m -Xmx512m")
+                .trim().split("\\s+")));
+    }
+
+    public Map<String, String> serviceProperties(String service) {
+        return serviceProperties.getOrDefault(service, Map.of());
+    }
+
+    public String mongoUri() {
+        return values.get("mongo-uri");
+    }
+
+    public String elasticsearch() {
+        return values.get("elasticsearch");
+    }
+
+    public Path projectDir() {
+        return Path.of(values.getOrDefault("project-dir", ".")).toAbsolutePath().normalize();
+    }
+
+    public Path workDir() {
+        return Path.of(values.getOrDefault("work-dir", "target/loadtest")).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Everything that shapes the run, echoed into the report.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("duration", duration().toString());
+        description.put("warmup", warmup().toString());
+        Map<String, Double> sessionRates = new LinkedHashMap<>();
+        rates.forEach((scenario, rate) -> sessionRates.put(scenario.label(), rate));
+        description.put("sessionsPerSecond", sessionRates);
+        description.put("maxSessions", maxSessions());
+        description.put("clients", clients());
+        description.put("sellers", sellers());
+        description.put("productsPerSeller", productsPerSeller());
+        description.put("datagen", datagenProperties());
+        description.put("serviceJvmOptions", serviceJvmOptions());
+        description.put("serviceProperties", serviceProperties);
+        description.put("mongo", mongoUri() == null ? "in-memory" : mongoUri());
+        description.put("elasticsearch", elasticsearch() == null ? "in-memory" : elasticsearch());
+        description.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        return description;
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        return Duration.parse(values.getOrDefault(name, defaultValue));
+    }
+
+    private int integer(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,194 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import sn.dev.loadtest.standin.InMemoryElasticsearch;
+import sn.dev.loadtest.standin.InMemoryObjectStorage;
+
+/**
+ * The gateway and the four business services on one machine, each in its own JVM, backed by stand-ins that
+ * live in the harness: an in-memory MongoDB wire-protocol server, {@link InMemoryElasticsearch} and
+ * {@link InMemoryObjectStorage} for Supabase. Services find each other through Spring Cloud's simple discovery
+ * client (static instance lists) instead of Eureka, and fill their databases with the "datagen" profile while
+ * starting, so they only report ready once the dataset exists.
+ */
+@Slf4j
+final class LocalDeployment implements AutoCloseable {
+
+    private static final List<String> BACKENDS =
+            List.of("user-service", "product-service", "media-service", "order-service");
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final Map<String, ServiceProcess> services = new LinkedHashMap<>();
+    private InMemoryObjectStorage storage;
+    private InMemoryElasticsearch elasticsearch;
+
+    private LocalDeployment() {
+    }
+
+    static LocalDeployment start(LoadTestSettings settings, HttpClient client) throws Exception {
+        LocalDeployment deployment = new LocalDeployment();
+        try {
+            deployment.startAll(settings, client);
+            return deployment;
+        } catch (Exception e) {
+            deployment.close();
+            throw e;
+        }
+    }
+
+    private void startAll(LoadTestSettings settings, HttpClient client) throws Exception {
+        String mongoUri = settings.mongoUri();
+        if (mongoUri == null) {
+            MongoServer mongo = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = mongo.bind();
+            resources.add(mongo::shutdownNow);
+            mongoUri = "mongodb://127.0.0.1:" + address.getPort();
+            log.info("🍃 MongoDB en mémoire sur {}", mongoUri);
+        }
+
+        String elasticsearchAddress = settings.elasticsearch();
+        if (elasticsearchAddress == null) {
+            elasticsearch = new InMemoryElasticsearch();
+            resources.add(elasticsearch);
+            elasticsearchAddress = "127.0.0.1:" + elasticsearch.port();
+            log.info("🔎 ElasticSearch en mémoire sur {}", elasticsearchAddress);
+        }
+
+        storage = new InMemoryObjectStorage();
+        resources.add(storage);
+        log.info("🗄️ Stockage objet en mémoire sur {}", storage.url());
+
+        Map<String, Integer> ports = new LinkedHashMap<>();
+        for (String service : LoadTestSettings.SERVICES) {
+            ports.put(service, freePort());
+        }
+
+        Map<String, String> common = new LinkedHashMap<>();
+        common.put("spring.config.import", "");
+        common.put("spring.cloud.config.enabled", "false");
+        common.put("eureka.client.enabled", "false");
+        common.put("management.endpoint.health.probes.enabled", "true");
+        for (String backend : BACKENDS) {
+            common.put("spring.cloud.discovery.client.simple.instances." + backend + "[0].uri",
+                    "http://127.0.0.1:" + ports.get(backend));
+        }
+
+        for (String service : LoadTestSettings.SERVICES) {
+            int port = ports.get(service);
+            Map<String, String> properties = new LinkedHashMap<>(common);
+            properties.put("server.port", String.valueOf(port));
+            properties.put("management.server.port", String.valueOf(port));
+
+            if (service.equals("api-gateway")) {
+                properties.putAll(gatewayRoutes());
+            } else {
+                properties.put("spring.data.mongodb.uri", mongoUri + "/" + service.replace("-service", ""));
+                properties.put("spring.profiles.active", "datagen");
+                properties.put("datagen.exit-on-completion", "false");
+                properties.putAll(settings.datagenProperties());
+            }
+            if (service.equals("user-service")) {
+                // Five JVMs boot at once on few cores: the datagen's BCrypt hash must not hit the request-path limit
+                properties.put("user.password-hashing.max-wait", "PT60S");
+            }
+            if (service.equals("product-service")) {
+                properties.put("elasticsearch.host", elasticsearchAddress.substring(0,
+                        elasticsearchAddress.lastIndexOf(':')));
+                properties.put("elasticsearch.port", elasticsearchAddress.substring(
+                        elasticsearchAddress.lastIndexOf(':') + 1));
+            }
+            if (service.equals("media-service")) {
+                properties.put("supabase.project-url", storage.url());
+                properties.put("supabase.api-key", "loadtest");
+                properties.put("supabase.bucket-name", "media");
+                properties.put("product.service.url", "http://127.0.0.1:" + ports.get("product-service"));
+            }
+            properties.putAll(settings.serviceProperties(service));
+
+            String scheme = service.equals("api-gateway") ? "https" : "http";
+            ServiceProcess process = ServiceProcess.start(service, ServiceProcess.findJar(settings.projectDir(),
+                            service), URI.create(scheme + "://127.0.0.1:" + port), settings.serviceJvmOptions(),
+                    properties, settings.workDir().resolve("logs"));
+            services.put(service, process);
+        }
+
+        for (ServiceProcess process : services.values()) {
+            process.awaitReady(client, settings.startupTimeout());
+        }
+    }
+
+    // Routes normally served by the config repository
+    private static Map<String, String> gatewayRoutes() {
+        Map<String, List<String>> routes = new LinkedHashMap<>();
+        routes.put("user-service", List.of("/api/users/**"));
+        routes.put("product-service", List.of("/api/products/**"));
+        routes.put("media-service", List.of("/api/media/**"));
+        routes.put("order-service", List.of("/api/orders/**", "/api/cart/**", "/api/sub-orders/**"));
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        int index = 0;
+        for (Map.Entry<String, List<String>> route : routes.entrySet()) {
+            String prefix = "spring.cloud.gateway.server.webflux.routes[" + index++ + "].";
+            properties.put(prefix + "id", route.getKey());
+            properties.put(prefix + "uri", "lb://" + route.getKey());
+            properties.put(prefix + "predicates[0]", "Path=" + String.join(",", route.getValue()));
+        }
+        return properties;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+
+    URI gateway() {
+        return services.get("api-gateway").baseUri();
+    }
+
+    URI service(String name) {
+        return services.get(name).baseUri();
+    }
+
+    InMemoryObjectStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Documents in the stand-in's products index, -1 with an external Elasticsearch.
+     */
+    int indexedProducts() {
+        return elasticsearch == null ? -1 : elasticsearch.documentCount("products");
+    }
+
+    @Override
+    public void close() {
+        for (ServiceProcess process : services.values()) {
+            try {
+                process.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (AutoCloseable resource : resources.reversed()) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("⚠️ Arrêt incomplet: {}", e.getMessage());
+            }
+        }
+    }
+}
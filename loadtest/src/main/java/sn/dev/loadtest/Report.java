@@ -0,0 +1,89 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import sn.dev.loadtest.traffic.EndpointStats;
+
+/**
+ * Per-endpoint results of the measured phase, as a console table and as {@code report.json} for comparing runs.
+ */
+final class Report {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> content = new LinkedHashMap<>();
+    private final List<EndpointStats> endpoints;
+    private final Duration measured;
+
+    Report(List<EndpointStats> endpoints, Duration measured) {
+        this.endpoints = endpoints;
+        this.measured = measured;
+        content.put("finishedAt", Instant.now().toString());
+        content.put("measuredSeconds", seconds());
+    }
+
+    Report with(String key, Object value) {
+        content.put(key, value);
+        return this;
+    }
+
+    void print(PrintStream out) {
+        String format = "%-42s %9s %8s %7s %9s %9s %9s %9s %9s%n";
+        out.printf(Locale.ROOT, format, "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : endpoints) {
+            out.printf(Locale.ROOT, format, endpoint.endpoint(), endpoint.requests(),
+                    String.format(Locale.ROOT, "%.1f", endpoint.requests() / seconds()), endpoint.errors(),
+                    millis(endpoint.percentileMillis(50)), millis(endpoint.percentileMillis(90)),
+                    millis(endpoint.percentileMillis(99)), millis(endpoint.percentileMillis(99.9)),
+                    millis(endpoint.maxMillis()));
+        }
+    }
+
+    void write(Path file) throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (EndpointStats endpoint : endpoints) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", endpoint.endpoint());
+            result.put("requests", endpoint.requests());
+            result.put("requestsPerSecond", endpoint.requests() / seconds());
+            result.put("errors", endpoint.errors());
+            result.put("outcomes", endpoint.outcomes());
+            Map<String, Double> latency = new LinkedHashMap<>();
+            latency.put("mean", endpoint.meanMillis());
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + (percentile == Math.rint(percentile)
+                        ? String.valueOf((int) percentile)
+                        : String.valueOf(percentile)), endpoint.percentileMillis(percentile));
+            }
+            latency.put("max", endpoint.maxMillis());
+            result.put("latencyMillis", latency);
+            results.add(result);
+        }
+        content.put("endpoints", results);
+
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), content);
+    }
+
+    private double seconds() {
+        return Math.max(measured.toMillis(), 1) / 1000.0;
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
@@ -0,0 +1,135 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One service running from its executable jar in a child JVM, configured entirely through command-line
+ * properties (no config server, no Eureka). Output goes to {@code <work-dir>/logs/<service>.log}.
+ */
+@Slf4j
+final class ServiceProcess implements AutoCloseable {
+
+    private final String name;
+    private final URI baseUri;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, URI baseUri, Process process, Path logFile) {
+        this.name = name;
+        this.baseUri = baseUri;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    static ServiceProcess start(String name, Path jar, URI baseUri, List<String> jvmOptions,
+            Map<String, String> properties, Path logDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toString());
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        log.info("▶️ {} démarré (pid {}, {}), journal: {}", name, process.pid(), baseUri, logFile);
+        return new ServiceProcess(name, baseUri, process, logFile);
+    }
+
+    /**
+     * The service's executable jar: the spring-boot "exec" artifact when there is one, else the only jar.
+     */
+    static Path findJar(Path projectDir, String service) throws IOException {
+        Path target = projectDir.resolve(service).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException(target + " not found, build the services first (mvn -pl loadtest -am "
+                    + "package -DskipTests)");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            List<Path> jars = files
+                    .filter(file -> file.getFileName().toString().startsWith(service + "-"))
+                    .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .sorted()
+                    .toList();
+            return jars.stream()
+                    .filter(file -> file.getFileName().toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .or(() -> jars.size() == 1 ? jars.stream().findFirst() : Optional.empty())
+                    .orElseThrow(() -> new IllegalStateException("No executable jar for " + service + " in "
+                            + target));
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    /**
+     * Waits until the readiness probe answers UP, i.e. after the datagen runners have filled the database.
+     */
+    void awaitReady(HttpClient client, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(baseUri.resolve("/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + "\n" + logTail());
+            }
+            try {
+                HttpResponse<String> response = client.send(probe, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    log.info("✅ {} prêt", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            TimeUnit.SECONDS.sleep(2);
+        }
+        throw new IllegalStateException(name + " not ready after " + timeout + "\n" + logTail());
+    }
+
+    String logTail() {
+        try {
+            List<String> lines = Files.readAllLines(logFile);
+            return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+        } catch (IOException e) {
+            return "(" + logFile + " unreadable: " + e.getMessage() + ")";
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (!process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+}
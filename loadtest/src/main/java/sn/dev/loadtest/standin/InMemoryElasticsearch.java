@@ -0,0 +1,807 @@
+package sn.dev.loadtest.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for the part of the Elasticsearch REST API that product-service uses through Spring Data: index
+ * management, single, bulk and by-query writes, get/mget, count and _search over in-memory indices. Every write
+ * is visible at once (refresh is a no-op).
+ * <p>
+ * Queries: match_all, match_none, bool, constant_score, wrapper (the repository's {@code @Query} methods),
+ * multi_match and match (terms are lowercased, accent-folded words; {@code operator: and} needs every term in one
+ * field; bool_prefix lets the last term be a prefix), query_string (substring match of every word), term, terms,
+ * ids, range and exists. A hit's score is its boosted number of matched terms, so ranking is plausible rather than
+ * BM25. Unsupported queries answer 400, which fails the request instead of silently matching everything.
+ */
+public final class InMemoryElasticsearch implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final double NO_MATCH = -1;
+
+    private record Document(ObjectNode source, long version, long seqNo) {
+    }
+
+    private record Hit(String id, Document document, double score) {
+    }
+
+    private static final class Index {
+        // Sorted by id so that equal scores come back in a stable order
+        private final Map<String, Document> documents = new ConcurrentSkipListMap<>();
+        private final AtomicLong seqNo = new AtomicLong();
+        private volatile JsonNode settings = MAPPER.createObjectNode();
+        private volatile JsonNode mappings = MAPPER.createObjectNode();
+    }
+
+    private record Response(int status, JsonNode body) {
+    }
+
+    private static final class ElasticsearchException extends RuntimeException {
+        private final int status;
+        private final String type;
+
+        private ElasticsearchException(int status, String type, String reason) {
+            super(reason);
+            this.status = status;
+            this.type = type;
+        }
+    }
+
+    private final Map<String, Index> indices = new ConcurrentHashMap<>();
+    private final HttpServer server;
+
+    public InMemoryElasticsearch() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int documentCount(String index) {
+        Index existing = indices.get(index);
+        return existing == null ? 0 : existing.documents.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Response response;
+            try {
+                byte[] body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = in.readAllBytes();
+                }
+                List<String> segments = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                        .filter(segment -> !segment.isEmpty())
+                        .toList();
+                response = route(exchange.getRequestMethod(), segments, body);
+            } catch (ElasticsearchException e) {
+                response = error(e.status, e.type, e.getMessage());
+            } catch (RuntimeException e) {
+                response = error(400, "parsing_exception", String.valueOf(e.getMessage()));
+            }
+
+            exchange.getResponseHeaders().set("X-Elastic-Product", "Elasticsearch");
+            if (exchange.getRequestMethod().equals("HEAD") || response.body() == null) {
+                exchange.sendResponseHeaders(response.status(), -1);
+                return;
+            }
+            byte[] json = MAPPER.writeValueAsBytes(response.body());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), json.length);
+            exchange.getResponseBody().write(json);
+        }
+    }
+
+    private Response route(String method, List<String> path, byte[] body) throws IOException {
+        if (path.isEmpty()) {
+            ObjectNode info = MAPPER.createObjectNode()
+                    .put("name", "loadtest")
+                    .put("cluster_name", "loadtest")
+                    .put("tagline", "You Know, for Search");
+            info.putObject("version").put("number", "8.18.0").put("build_flavor", "default");
+            return new Response(200, info);
+        }
+        if (path.getFirst().equals("_bulk")) {
+            return bulk(null, body);
+        }
+
+        String indexName = path.getFirst();
+        if (path.size() == 1) {
+            return switch (method) {
+                case "HEAD" -> new Response(indices.containsKey(indexName) ? 200 : 404, null);
+                case "PUT" -> createIndex(indexName, json(body));
+                case "DELETE" -> {
+                    if (indices.remove(indexName) == null) {
+                        throw indexNotFound(indexName);
+                    }
+                    yield acknowledged();
+                }
+                case "GET" -> {
+                    Index index = existingIndex(indexName);
+                    ObjectNode description = MAPPER.createObjectNode();
+                    ObjectNode entry = description.putObject(indexName);
+                    entry.putObject("aliases");
+                    entry.set("mappings", index.mappings);
+                    entry.putObject("settings").set("index", index.settings);
+                    yield new Response(200, description);
+                }
+                default -> throw unsupported(method, path);
+            };
+        }
+
+        String action = path.get(1);
+        String id = path.size() > 2 ? path.get(2) : null;
+        return switch (action) {
+            case "_bulk" -> bulk(indexName, body);
+            case "_refresh", "_flush" -> {
+                existingIndex(indexName);
+                yield new Response(200, MAPPER.createObjectNode().set("_shards", shards()));
+            }
+            case "_mapping" -> {
+                Index index = existingIndex(indexName);
+                if (method.equals("GET")) {
+                    ObjectNode mapping = MAPPER.createObjectNode();
+                    mapping.putObject(indexName).set("mappings", index.mappings);
+                    yield new Response(200, mapping);
+                }
+                index.mappings = json(body);
+                yield acknowledged();
+            }
+            case "_settings" -> {
+                Index index = existingIndex(indexName);
+                ObjectNode settings = MAPPER.createObjectNode();
+                settings.putObject(indexName).putObject("settings").set("index", index.settings);
+                yield new Response(200, settings);
+            }
+            case "_search" -> search(indexName, json(body));
+            case "_count" -> {
+                JsonNode query = json(body).path("query");
+                long count = matching(indexName, query.isMissingNode() ? null : query).size();
+                ObjectNode result = MAPPER.createObjectNode().put("count", count);
+                result.set("_shards", shards());
+                yield new Response(200, result);
+            }
+            case "_delete_by_query" -> deleteByQuery(indexName, json(body));
+            case "_mget" -> multiGet(indexName, json(body));
+            case "_doc", "_create" -> {
+                if (id == null && method.equals("POST")) {
+                    yield write(indexName, UUID.randomUUID().toString(), (ObjectNode) json(body), false);
+                }
+                if (id == null) {
+                    throw unsupported(method, path);
+                }
+                yield switch (method) {
+                    case "GET", "HEAD" -> get(indexName, id);
+                    case "PUT", "POST" -> write(indexName, id, (ObjectNode) json(body), action.equals("_create"));
+                    case "DELETE" -> delete(indexName, id);
+                    default -> throw unsupported(method, path);
+                };
+            }
+            case "_update" -> {
+                if (id == null) {
+                    throw unsupported(method, path);
+                }
+                yield update(indexName, id, json(body));
+            }
+            default -> throw unsupported(method, path);
+        };
+    }
+
+    // --- index and document operations --------------------------------------------------------------------
+
+    private Response createIndex(String indexName, JsonNode body) {
+        Index index = new Index();
+        if (body.has("settings")) {
+            index.settings = body.get("settings");
+        }
+        if (body.has("mappings")) {
+            index.mappings = body.get("mappings");
+        }
+        if (indices.putIfAbsent(indexName, index) != null) {
+            throw new ElasticsearchException(400, "resource_already_exists_exception",
+                    "index [" + indexName + "] already exists");
+        }
+        ObjectNode result = MAPPER.createObjectNode()
+                .put("acknowledged", true)
+                .put("shards_acknowledged", true)
+                .put("index", indexName);
+        return new Response(200, result);
+    }
+
+    private Response write(String indexName, String id, ObjectNode source, boolean createOnly) {
+        Index index = indices.computeIfAbsent(indexName, name -> new Index());
+        Document previous = index.documents.get(id);
+        if (createOnly && previous != null) {
+            throw new ElasticsearchException(409, "version_conflict_engine_exception",
+                    "[" + id + "]: version conflict, document already exists");
+        }
+        Document document = new Document(source, previous == null ? 1 : previous.version() + 1,
+                index.seqNo.getAndIncrement());
+        index.documents.put(id, document);
+        return new Response(previous == null ? 201 : 200,
+                writeResult(indexName, id, document, previous == null ? "created" : "updated"));
+    }
+
+    private Response update(String indexName, String id, JsonNode body) {
+        Index index = indices.computeIfAbsent(indexName, name -> new Index());
+        Document previous = index.documents.get(id);
+        if (previous == null && !body.path("doc_as_upsert").asBoolean(false) && !body.has("upsert")) {
+            throw new ElasticsearchException(404, "document_missing_exception", "[" + id + "]: document missing");
+        }
+        ObjectNode source;
+        if (previous != null) {
+            source = previous.source().deepCopy();
+        } else {
+            source = body.has("upsert") ? (ObjectNode) body.get("upsert").deepCopy() : MAPPER.createObjectNode();
+        }
+        if (body.has("doc")) {
+            source.setAll((ObjectNode) body.get("doc"));
+        }
+        Document document = new Document(source, previous == null ? 1 : previous.version() + 1,
+                index.seqNo.getAndIncrement());
+        index.documents.put(id, document);
+        return new Response(200, writeResult(indexName, id, document, previous == null ? "created" : "updated"));
+    }
+
+    private Response delete(String indexName, String id) {
+        Index index = indices.get(indexName);
+        Document removed = index == null ? null : index.documents.remove(id);
+        if (removed == null) {
+            ObjectNode result = writeResult(indexName, id, new Document(null, 1, 0), "not_found");
+            return new Response(404, result);
+        }
+        return new Response(200, writeResult(indexName, id,
+                new Document(null, removed.version() + 1, index.seqNo.getAndIncrement()), "deleted"));
+    }
+
+    private Response get(String indexName, String id) {
+        Index index = existingIndex(indexName);
+        Document document = index.documents.get(id);
+        ObjectNode result = getResult(indexName, id, document);
+        return new Response(document == null ? 404 : 200, result);
+    }
+
+    private Response multiGet(String indexName, JsonNode body) {
+        List<String> ids = new ArrayList<>();
+        body.path("ids").forEach(id -> ids.add(id.asText()));
+        body.path("docs").forEach(doc -> ids.add(doc.path("_id").asText()));
+        Index index = indices.get(indexName);
+        ObjectNode result = MAPPER.createObjectNode();
+        ArrayNode docs = result.putArray("docs");
+        for (String id : ids) {
+            docs.add(getResult(indexName, id, index == null ? null : index.documents.get(id)));
+        }
+        return new Response(200, result);
+    }
+
+    private Response deleteByQuery(String indexName, JsonNode body) {
+        Index index = existingIndex(indexName);
+        List<Hit> hits = matching(indexName, body.path("query").isMissingNode() ? null : body.get("query"));
+        hits.forEach(hit -> index.documents.remove(hit.id()));
+        ObjectNode result = MAPPER.createObjectNode()
+                .put("took", 0)
+                .put("timed_out", false)
+                .put("total", hits.size())
+                .put("deleted", hits.size())
+                .put("batches", 1)
+                .put("version_conflicts", 0)
+                .put("noops", 0)
+                .put("throttled_millis", 0)
+                .put("requests_per_second", -1.0)
+                .put("throttled_until_millis", 0);
+        result.putObject("retries").put("bulk", 0).put("search", 0);
+        result.putArray("failures");
+        return new Response(200, result);
+    }
+
+    private Response bulk(String defaultIndex, byte[] body) throws IOException {
+        String[] lines = new String(body, StandardCharsets.UTF_8).split("\n");
+        ObjectNode result = MAPPER.createObjectNode().put("took", 0).put("errors", false);
+        ArrayNode items = result.putArray("items");
+        boolean errors = false;
+
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            JsonNode actionLine = MAPPER.readTree(lines[i]);
+            String operation = actionLine.fieldNames().next();
+            JsonNode metadata = actionLine.get(operation);
+            String indexName = metadata.path("_index").asText(defaultIndex);
+            String id = metadata.path("_id").asText(UUID.randomUUID().toString());
+
+            Response response;
+            try {
+                response = switch (operation) {
+                    case "index" -> write(indexName, id, (ObjectNode) MAPPER.readTree(lines[++i]), false);
+                    case "create" -> write(indexName, id, (ObjectNode) MAPPER.readTree(lines[++i]), true);
+                    case "update" -> update(indexName, id, MAPPER.readTree(lines[++i]));
+                    case "delete" -> delete(indexName, id);
+                    default -> throw new ElasticsearchException(400, "illegal_argument_exception",
+                            "Malformed action/metadata line [" + operation + "]");
+                };
+            } catch (ElasticsearchException e) {
+                response = error(e.status, e.type, e.getMessage());
+                errors = true;
+            }
+            ObjectNode item = response.body().deepCopy();
+            item.put("status", response.status());
+            items.addObject().set(operation, item);
+        }
+        result.put("errors", errors);
+        return new Response(200, result);
+    }
+
+    private Response search(String indexName, JsonNode body) {
+        JsonNode query = body.get("query");
+        List<Hit> hits = new ArrayList<>(matching(indexName, query));
+        hits.sort(comparator(body.get("sort")));
+
+        int from = body.path("from").asInt(0);
+        int size = body.path("size").asInt(10);
+        boolean withSeqNo = body.path("seq_no_primary_term").asBoolean(false);
+        boolean withVersion = body.path("version").asBoolean(false);
+
+        ObjectNode result = MAPPER.createObjectNode().put("took", 0).put("timed_out", false);
+        result.set("_shards", shards());
+        ObjectNode hitsNode = result.putObject("hits");
+        hitsNode.putObject("total").put("value", hits.size()).put("relation", "eq");
+        double maxScore = hits.stream().mapToDouble(Hit::score).max().orElse(Double.NaN);
+        if (Double.isNaN(maxScore)) {
+            hitsNode.putNull("max_score");
+        } else {
+            hitsNode.put("max_score", maxScore);
+        }
+        ArrayNode page = hitsNode.putArray("hits");
+        for (Hit hit : hits.subList(Math.min(from, hits.size()), Math.min(from + size, hits.size()))) {
+            ObjectNode hitNode = page.addObject()
+                    .put("_index", indexName)
+                    .put("_id", hit.id())
+                    .put("_score", hit.score());
+            if (withVersion) {
+                hitNode.put("_version", hit.document().version());
+            }
+            if (withSeqNo) {
+                hitNode.put("_seq_no", hit.document().seqNo()).put("_primary_term", 1);
+            }
+            hitNode.set("_source", hit.document().source());
+        }
+        return new Response(200, result);
+    }
+
+    private List<Hit> matching(String indexName, JsonNode query) {
+        Index index = existingIndex(indexName);
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<String, Document> entry : index.documents.entrySet()) {
+            double score = query == null || query.isNull()
+                    ? 1.0
+                    : score(query, entry.getKey(), entry.getValue().source());
+            if (score >= 0) {
+                hits.add(new Hit(entry.getKey(), entry.getValue(), score));
+            }
+        }
+        return hits;
+    }
+
+    // --- query evaluation -----------------------------------------------------------------------------------
+
+    /**
+     * Score of the document for the query, {@link #NO_MATCH} when it does not match.
+     */
+    private double score(JsonNode query, String id, ObjectNode source) {
+        if (!query.isObject() || query.size() != 1) {
+            throw new IllegalArgumentException("query must be an object with a single type, got " + query);
+        }
+        String type = query.fieldNames().next();
+        JsonNode params = query.get(type);
+        return switch (type) {
+            case "match_all" -> 1.0;
+            case "match_none" -> NO_MATCH;
+            case "bool" -> bool(params, id, source);
+            case "constant_score" -> score(params.get("filter"), id, source) >= 0 ? 1.0 : NO_MATCH;
+            case "wrapper" -> score(json(Base64.getDecoder().decode(params.path("query").asText())), id, source);
+            case "multi_match" -> {
+                List<String> fields = new ArrayList<>();
+                params.path("fields").forEach(field -> fields.add(field.asText()));
+                yield textMatch(source, fields, params.path("query").asText(), params.path("type").asText(""),
+                        params.path("operator").asText("or"));
+            }
+            case "match", "match_phrase_prefix", "match_bool_prefix" -> {
+                Map.Entry<String, JsonNode> field = params.fields().next();
+                JsonNode options = field.getValue();
+                String text = options.isObject() ? options.path("query").asText() : options.asText();
+                String operator = options.path("operator").asText(type.equals("match") ? "or" : "and");
+                yield textMatch(source, List.of(field.getKey()), text, type.equals("match") ? "" : "bool_prefix",
+                        operator);
+            }
+            case "query_string", "simple_query_string" -> queryString(params, source);
+            case "term" -> {
+                Map.Entry<String, JsonNode> field = params.fields().next();
+                JsonNode expected = field.getValue().isObject() ? field.getValue().get("value") : field.getValue();
+                yield sameValue(fieldValue(source, id, field.getKey()), expected) ? 1.0 : NO_MATCH;
+            }
+            case "terms" -> {
+                Map.Entry<String, JsonNode> field = params.fields().next();
+                JsonNode actual = fieldValue(source, id, field.getKey());
+                for (JsonNode expected : field.getValue()) {
+                    if (sameValue(actual, expected)) {
+                        yield 1.0;
+                    }
+                }
+                yield NO_MATCH;
+            }
+            case "ids" -> {
+                for (JsonNode value : params.path("values")) {
+                    if (value.asText().equals(id)) {
+                        yield 1.0;
+                    }
+                }
+                yield NO_MATCH;
+            }
+            case "exists" -> {
+                JsonNode value = fieldValue(source, id, params.path("field").asText());
+                yield value == null || value.isNull() ? NO_MATCH : 1.0;
+            }
+            case "range" -> {
+                Map.Entry<String, JsonNode> field = params.fields().next();
+                yield inRange(fieldValue(source, id, field.getKey()), field.getValue()) ? 1.0 : NO_MATCH;
+            }
+            default -> throw new IllegalArgumentException("unsupported query [" + type + "]");
+        };
+    }
+
+    private double bool(JsonNode params, String id, ObjectNode source) {
+        double total = 0;
+        for (JsonNode clause : clauses(params.get("must"))) {
+            double score = score(clause, id, source);
+            if (score < 0) {
+                return NO_MATCH;
+            }
+            total += score;
+        }
+        for (JsonNode clause : clauses(params.get("filter"))) {
+            if (score(clause, id, source) < 0) {
+                return NO_MATCH;
+            }
+        }
+        for (JsonNode clause : clauses(params.get("must_not"))) {
+            if (score(clause, id, source) >= 0) {
+                return NO_MATCH;
+            }
+        }
+        List<JsonNode> should = clauses(params.get("should"));
+        boolean onlyShould = clauses(params.get("must")).isEmpty() && clauses(params.get("filter")).isEmpty();
+        int required = params.has("minimum_should_match")
+                ? params.get("minimum_should_match").asInt()
+                : (onlyShould && !should.isEmpty() ? 1 : 0);
+        int matched = 0;
+        for (JsonNode clause : should) {
+            double score = score(clause, id, source);
+            if (score >= 0) {
+                matched++;
+                total += score;
+            }
+        }
+        return matched < required ? NO_MATCH : total;
+    }
+
+    private static List<JsonNode> clauses(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        List<JsonNode> clauses = new ArrayList<>();
+        if (node.isArray()) {
+            node.forEach(clauses::add);
+        } else {
+            clauses.add(node);
+        }
+        return clauses;
+    }
+
+    private double textMatch(ObjectNode source, List<String> fieldSpecs, String text, String type,
+            String operator) {
+        List<String> terms = tokens(text);
+        if (terms.isEmpty()) {
+            return NO_MATCH;
+        }
+        boolean lastIsPrefix = type.equals("bool_prefix") || type.equals("phrase_prefix");
+        boolean all = operator.equalsIgnoreCase("and");
+
+        // "name", "name._2gram" and "name._3gram" are views of the same text: keep one entry, the highest boost
+        Map<String, Double> fields = new LinkedHashMap<>();
+        for (String spec : fieldSpecs) {
+            int caret = spec.indexOf('^');
+            String field = caret < 0 ? spec : spec.substring(0, caret);
+            double boost = caret < 0 ? 1.0 : Double.parseDouble(spec.substring(caret + 1));
+            fields.merge(baseField(source, field), boost, Math::max);
+        }
+
+        double best = NO_MATCH;
+        for (Map.Entry<String, Double> field : fields.entrySet()) {
+            JsonNode value = fieldValue(source, null, field.getKey());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            List<String> words = tokens(value.isArray() ? value.toString() : value.asText());
+            int matched = 0;
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                boolean prefix = lastIsPrefix && t == terms.size() - 1;
+                if (words.stream().anyMatch(word -> prefix ? word.startsWith(term) : word.equals(term))) {
+                    matched++;
+                }
+            }
+            boolean fieldMatches = all ? matched == terms.size() : matched > 0;
+            if (fieldMatches) {
+                best = Math.max(best, matched * field.getValue());
+            }
+        }
+        return best;
+    }
+
+    private double queryString(JsonNode params, ObjectNode source) {
+        List<String> words = tokens(params.path("query").asText());
+        if (words.isEmpty()) {
+            return NO_MATCH;
+        }
+        List<String> fields = new ArrayList<>();
+        params.path("fields").forEach(field -> fields.add(field.asText().replaceAll("\\^.*", "")));
+        if (fields.isEmpty()) {
+            source.fieldNames().forEachRemaining(fields::add);
+        }
+        StringBuilder haystack = new StringBuilder();
+        for (String field : fields) {
+            JsonNode value = fieldValue(source, null, baseField(source, field));
+            if (value != null && value.isValueNode()) {
+                haystack.append(String.join(" ", tokens(value.asText()))).append(' ');
+            }
+        }
+        boolean all = params.path("default_operator").asText("or").equalsIgnoreCase("and");
+        int matched = (int) words.stream().filter(word -> haystack.indexOf(word) >= 0).count();
+        return (all ? matched == words.size() : matched > 0) ? matched : NO_MATCH;
+    }
+
+    private static boolean inRange(JsonNode value, JsonNode bounds) {
+        if (value == null || value.isNull()) {
+            return false;
+        }
+        boolean includeLower = bounds.path("include_lower").asBoolean(true);
+        boolean includeUpper = bounds.path("include_upper").asBoolean(true);
+        return within(value, bounds.get("gte"), 0, true)
+                && within(value, bounds.get("gt"), 0, false)
+                && within(value, bounds.get("from"), 0, includeLower)
+                && within(value, bounds.get("lte"), 1, true)
+                && within(value, bounds.get("lt"), 1, false)
+                && within(value, bounds.get("to"), 1, includeUpper);
+    }
+
+    // side 0: value must be above the bound, side 1: below it
+    private static boolean within(JsonNode value, JsonNode bound, int side, boolean inclusive) {
+        if (bound == null || bound.isNull()) {
+            return true;
+        }
+        int comparison = compareValues(value, bound);
+        if (comparison == 0) {
+            return inclusive;
+        }
+        return side == 0 ? comparison > 0 : comparison < 0;
+    }
+
+    private static boolean sameValue(JsonNode actual, JsonNode expected) {
+        if (actual == null || actual.isNull() || expected == null) {
+            return false;
+        }
+        if (actual.isArray()) {
+            for (JsonNode element : actual) {
+                if (sameValue(element, expected)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return compareValues(actual, expected) == 0;
+    }
+
+    private static int compareValues(JsonNode left, JsonNode right) {
+        if (isNumeric(left) && isNumeric(right)) {
+            return Double.compare(left.asDouble(), right.asDouble());
+        }
+        return left.asText().compareTo(right.asText());
+    }
+
+    private static boolean isNumeric(JsonNode node) {
+        if (node.isNumber()) {
+            return true;
+        }
+        try {
+            Double.parseDouble(node.asText());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Field value by dotted path; {@code _id} is the document id.
+     */
+    private static JsonNode fieldValue(ObjectNode source, String id, String field) {
+        if (field.equals("_id") && id != null) {
+            return MAPPER.getNodeFactory().textNode(id);
+        }
+        if (source.has(field)) {
+            return source.get(field);
+        }
+        JsonNode current = source;
+        for (String part : field.split("\\.")) {
+            current = current.get(part);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    // Multi-field views (name._2gram, name.keyword) read their parent field
+    private static String baseField(ObjectNode source, String field) {
+        String current = field;
+        while (fieldValue(source, null, current) == null && current.contains(".")) {
+            current = current.substring(0, current.lastIndexOf('.'));
+        }
+        return current;
+    }
+
+    static List<String> tokens(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(NON_WORD.split(folded.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static Comparator<Hit> comparator(JsonNode sort) {
+        Comparator<Hit> comparator = null;
+        for (JsonNode entry : clauses(sort)) {
+            String field;
+            String order;
+            if (entry.isTextual()) {
+                field = entry.asText();
+                order = "";
+            } else {
+                Map.Entry<String, JsonNode> first = entry.fields().next();
+                field = first.getKey();
+                order = first.getValue().isObject()
+                        ? first.getValue().path("order").asText("")
+                        : first.getValue().asText("");
+            }
+            boolean descending = order.isEmpty() ? field.equals("_score") : order.equalsIgnoreCase("desc");
+            Comparator<Hit> next = field.equals("_score") ? byScore(descending) : byField(field, descending);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? byScore(true) : comparator;
+    }
+
+    private static Comparator<Hit> byScore(boolean descending) {
+        Comparator<Hit> ascending = Comparator.comparingDouble(Hit::score);
+        return descending ? ascending.reversed() : ascending;
+    }
+
+    // Missing values sort last whatever the direction is, as with Elasticsearch's default "missing": "_last"
+    private static Comparator<Hit> byField(String field, boolean descending) {
+        return (left, right) -> {
+            JsonNode a = fieldValue(left.document().source(), left.id(), field);
+            JsonNode b = fieldValue(right.document().source(), right.id(), field);
+            boolean aMissing = a == null || a.isNull();
+            boolean bMissing = b == null || b.isNull();
+            if (aMissing || bMissing) {
+                return Boolean.compare(aMissing, bMissing);
+            }
+            int comparison = compareValues(a, b);
+            return descending ? -comparison : comparison;
+        };
+    }
+
+    // --- responses ------------------------------------------------------------------------------------------
+
+    private Index existingIndex(String indexName) {
+        Index index = indices.get(indexName);
+        if (index == null) {
+            throw indexNotFound(indexName);
+        }
+        return index;
+    }
+
+    private static ElasticsearchException indexNotFound(String indexName) {
+        return new ElasticsearchException(404, "index_not_found_exception", "no such index [" + indexName + "]");
+    }
+
+    private static ElasticsearchException unsupported(String method, List<String> path) {
+        return new ElasticsearchException(400, "illegal_argument_exception",
+                "unsupported request [" + method + " /" + String.join("/", path) + "]");
+    }
+
+    private static ObjectNode writeResult(String indexName, String id, Document document, String result) {
+        ObjectNode node = MAPPER.createObjectNode()
+                .put("_index", indexName)
+                .put("_id", id)
+                .put("_version", document.version())
+                .put("result", result);
+        node.set("_shards", shards());
+        node.put("_seq_no", document.seqNo()).put("_primary_term", 1);
+        return node;
+    }
+
+    private static ObjectNode getResult(String indexName, String id, Document document) {
+        ObjectNode node = MAPPER.createObjectNode().put("_index", indexName).put("_id", id);
+        if (document == null) {
+            return node.put("found", false);
+        }
+        node.put("_version", document.version())
+                .put("_seq_no", document.seqNo())
+                .put("_primary_term", 1)
+                .put("found", true);
+        node.set("_source", document.source());
+        return node;
+    }
+
+    private static ObjectNode shards() {
+        return MAPPER.createObjectNode().put("total", 1).put("successful", 1).put("skipped", 0).put("failed", 0);
+    }
+
+    private static Response acknowledged() {
+        return new Response(200, MAPPER.createObjectNode().put("acknowledged", true));
+    }
+
+    private static Response error(int status, String type, String reason) {
+        ObjectNode body = MAPPER.createObjectNode();
+        ObjectNode error = body.putObject("error");
+        error.putArray("root_cause").addObject().put("type", type).put("reason", reason);
+        error.put("type", type).put("reason", reason);
+        body.put("status", status);
+        return new Response(status, body);
+    }
+
+    private static JsonNode json(byte[] body) {
+        if (body.length == 0) {
+            return MAPPER.createObjectNode();
+        }
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("request body is not JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,106 @@
+package sn.dev.loadtest.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for the Supabase Storage object API used by media-service: upload ({@code PUT|POST
+ * /storage/v1/object/{bucket}/{key}}), public download ({@code GET /storage/v1/object/public/{bucket}/{key}}) and
+ * delete. Objects are kept in memory; the API key is not checked.
+ */
+public final class InMemoryObjectStorage implements AutoCloseable {
+
+    private static final String OBJECT_PREFIX = "/storage/v1/object/";
+    private static final String PUBLIC_PREFIX = OBJECT_PREFIX + "public/";
+
+    private record StoredObject(String contentType, byte[] content) {
+    }
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder uploadedBytes = new LongAdder();
+    private final HttpServer server;
+
+    public InMemoryObjectStorage() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Value for media-service's {@code supabase.project-url}.
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long uploads() {
+        return uploads.sum();
+    }
+
+    public long uploadedBytes() {
+        return uploadedBytes.sum();
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (method.equals("GET") && path.startsWith(PUBLIC_PREFIX)) {
+                StoredObject object = objects.get(path.substring(PUBLIC_PREFIX.length()));
+                if (object == null) {
+                    respond(exchange, 404, "{\"statusCode\":\"404\",\"error\":\"not_found\"}");
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", object.contentType());
+                exchange.sendResponseHeaders(200, object.content().length);
+                exchange.getResponseBody().write(object.content());
+            } else if ((method.equals("PUT") || method.equals("POST")) && path.startsWith(OBJECT_PREFIX)) {
+                String key = path.substring(OBJECT_PREFIX.length());
+                byte[] content;
+                try (InputStream body = exchange.getRequestBody()) {
+                    content = body.readAllBytes();
+                }
+                String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                objects.put(key, new StoredObject(contentType == null ? "application/octet-stream" : contentType,
+                        content));
+                uploads.increment();
+                uploadedBytes.add(content.length);
+                respond(exchange, 200, "{\"Key\":\"" + key + "\"}");
+            } else if (method.equals("DELETE") && path.startsWith(OBJECT_PREFIX)) {
+                boolean removed = objects.remove(path.substring(OBJECT_PREFIX.length())) != null;
+                respond(exchange, removed ? 200 : 404, removed
+                        ? "{\"message\":\"Successfully deleted\"}"
+                        : "{\"statusCode\":\"404\",\"error\":\"not_found\"}");
+            } else {
+                respond(exchange, 400, "{\"statusCode\":\"400\",\"error\":\"unsupported\"}");
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
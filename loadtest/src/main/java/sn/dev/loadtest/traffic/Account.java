@@ -0,0 +1,38 @@
+package sn.dev.loadtest.traffic;
+
+/**
+ * A user the scenarios act as, logged in once during setup. Clients also own one open cart.
+ */
+public final class Account {
+
+    private final String id;
+    private final String email;
+    private final String token;
+    private volatile String cartId;
+
+    Account(String id, String email, String token) {
+        this.id = id;
+        this.email = email;
+        this.token = token;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String email() {
+        return email;
+    }
+
+    String token() {
+        return token;
+    }
+
+    String cartId() {
+        return cartId;
+    }
+
+    void cartId(String cartId) {
+        this.cartId = cartId;
+    }
+}
@@ -0,0 +1,75 @@
+package sn.dev.loadtest.traffic;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome of one endpoint (method + route template). Latencies are recorded in microseconds, from
+ * sending the request to reading the whole body, failures included so timeouts show up in the tail.
+ */
+public final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(1, HIGHEST_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long micros, String outcome, boolean error) {
+        latencies.recordValue(Math.max(1, Math.min(micros, HIGHEST_MICROS)));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        outcomes.clear();
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public long requests() {
+        return latencies.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Requests per HTTP status, plus "timeout" and "io-error" for requests that got no response.
+     */
+    public Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double meanMillis() {
+        return latencies.getMean() / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,219 @@
+package sn.dev.loadtest.traffic;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.imageio.ImageIO;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.extern.slf4j.Slf4j;
+import sn.dev.loadtest.LoadTestSettings;
+
+/**
+ * Accounts and catalog the scenarios draw from. Setup talks to the services directly rather than through the
+ * gateway so the login rate limit does not throttle it: it registers and logs in the harness's clients and
+ * sellers, gives every client an empty cart, lets every seller publish a few products (which goes through
+ * media-service and the storage stand-in), then samples the generated catalog for product ids and search terms.
+ */
+@Slf4j
+public final class Fixtures {
+
+    private static final String PASSWORD = "password123";
+    private static final int CATALOG_PAGE_SIZE = 100;
+    private static final int CATALOG_PAGES_SAMPLED = 20;
+    private static final int BROWSE_PAGE_SIZE = 20;
+    private static final int MAX_BROWSE_PAGES = 100;
+
+    private final List<Account> clients;
+    private final List<Account> sellers;
+    private final BlockingQueue<Account> idleClients;
+    private final List<String> productIds;
+    private final List<String> searchTerms;
+    private final int browsePages;
+
+    private Fixtures(List<Account> clients, List<Account> sellers, List<String> productIds,
+            List<String> searchTerms, int browsePages) {
+        this.clients = clients;
+        this.sellers = sellers;
+        this.idleClients = new ArrayBlockingQueue<>(Math.max(1, clients.size()), false, clients);
+        this.productIds = productIds;
+        this.searchTerms = searchTerms;
+        this.browsePages = browsePages;
+    }
+
+    public static Fixtures prepare(Traffic users, Traffic products, Traffic orders, LoadTestSettings settings) {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        List<Account> sellers = new ArrayList<>();
+        for (int i = 0; i < settings.sellers(); i++) {
+            sellers.add(register(users, "loadtest.seller" + i + "." + run + "@loadtest.local", "SELLER"));
+        }
+        List<Account> clients = new ArrayList<>();
+        for (int i = 0; i < settings.clients(); i++) {
+            Account client = register(users, "loadtest.client" + i + "." + run + "@loadtest.local", "CLIENT");
+            client.cartId(expect(openCart(orders, null, client), "opening a cart for " + client.email())
+                    .json().path("id").asText());
+            clients.add(client);
+        }
+        log.info("👥 {} clients et {} vendeurs connectés", clients.size(), sellers.size());
+
+        byte[] image = image();
+        int published = 0;
+        for (Account seller : sellers) {
+            for (int i = 0; i < settings.productsPerSeller(); i++) {
+                publish(products, seller, "Loadtest item " + run + " " + published++, image);
+            }
+        }
+        log.info("🛍️ {} produits publiés par les vendeurs", published);
+
+        Set<String> productIds = new LinkedHashSet<>();
+        Set<String> searchTerms = new LinkedHashSet<>();
+        long totalElements = 0;
+        for (int page = 0; page < CATALOG_PAGES_SAMPLED; page++) {
+            JsonNode body = expect(products.get(null, "/api/products?page=" + page + "&size=" + CATALOG_PAGE_SIZE,
+                    null), "catalog page " + page).json();
+            for (JsonNode product : body.path("content")) {
+                productIds.add(product.path("id").asText());
+                for (String word : product.path("name").asText().toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                    if (word.length() >= 4) {
+                        searchTerms.add(word);
+                    }
+                }
+            }
+            totalElements = body.has("totalElements")
+                    ? body.path("totalElements").asLong()
+                    : body.path("page").path("totalElements").asLong();
+            if (body.path("content").size() < CATALOG_PAGE_SIZE) {
+                break;
+            }
+        }
+        if (productIds.isEmpty() || clients.isEmpty()) {
+            throw new IllegalStateException("Nothing to run against: " + productIds.size() + " products, "
+                    + clients.size() + " clients");
+        }
+        int browsePages = (int) Math.clamp((totalElements + BROWSE_PAGE_SIZE - 1) / BROWSE_PAGE_SIZE, 1,
+                MAX_BROWSE_PAGES);
+        log.info("📚 Catalogue: {} produits, {} échantillonnés, {} termes de recherche", totalElements,
+                productIds.size(), searchTerms.size());
+        return new Fixtures(clients, sellers, List.copyOf(productIds), List.copyOf(searchTerms), browsePages);
+    }
+
+    private static Account register(Traffic users, String email, String role) {
+        expect(users.post(null, "/api/users", null, Map.of("name", email.substring(0, email.indexOf('@')),
+                "email", email, "password", PASSWORD, "role", role)), "registering " + email);
+        JsonNode login = expect(users.post(null, "/api/users/login", null,
+                Map.of("email", email, "password", PASSWORD)), "logging in " + email).json();
+        return new Account(login.path("id").asText(), email, login.path("token").asText());
+    }
+
+    /**
+     * Creates an empty cart for the client, the way the frontend does after a checkout.
+     */
+    static Traffic.Response openCart(Traffic orders, String endpoint, Account client) {
+        return orders.post(endpoint, "/api/orders", client, Map.of("userId", client.id(), "status", "CART",
+                "paymentMethod", "CARD", "items", List.of()));
+    }
+
+    private static void publish(Traffic products, Account seller, String name, byte[] image) {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        StringBuilder fields = new StringBuilder();
+        Map<String, String> values = Map.of("name", name, "description", "Published by the load test harness",
+                "price", String.valueOf(ThreadLocalRandom.current().nextInt(5, 500)), "quantity", "1000000");
+        values.forEach((field, value) -> fields.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(field).append("\"\r\n\r\n")
+                .append(value).append("\r\n"));
+        fields.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"images\"; filename=\"item.png\"\r\n")
+                .append("Content-Type: image/png\r\n\r\n");
+        String end = "\r\n--" + boundary + "--\r\n";
+
+        HttpRequest.Builder request = products.request("/api/products", seller)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(fields.toString(), StandardCharsets.UTF_8),
+                        HttpRequest.BodyPublishers.ofByteArray(image),
+                        HttpRequest.BodyPublishers.ofString(end, StandardCharsets.UTF_8)));
+        expect(products.send(null, request), "publishing " + name);
+    }
+
+    private static byte[] image() {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, new Color(x * 4, y * 4, 128).getRGB());
+            }
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Traffic.Response expect(Traffic.Response response, String action) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Setup failed " + action + ": HTTP " + response.status() + " "
+                    + response.body());
+        }
+        return response;
+    }
+
+    /**
+     * A client whose cart nobody else is editing, or null when all of them are busy.
+     */
+    Account borrowClient() {
+        return idleClients.poll();
+    }
+
+    void release(Account client) {
+        idleClients.offer(client);
+    }
+
+    Account anyClient() {
+        return clients.get(ThreadLocalRandom.current().nextInt(clients.size()));
+    }
+
+    Account anySeller() {
+        return sellers.isEmpty() ? null : sellers.get(ThreadLocalRandom.current().nextInt(sellers.size()));
+    }
+
+    String anyProduct() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    String anySearchTerm() {
+        return searchTerms.isEmpty()
+                ? "product"
+                : searchTerms.get(ThreadLocalRandom.current().nextInt(searchTerms.size()));
+    }
+
+    int anyBrowsePage() {
+        return ThreadLocalRandom.current().nextInt(browsePages);
+    }
+
+    int browsePageSize() {
+        return BROWSE_PAGE_SIZE;
+    }
+
+    public Map<String, Object> describe() {
+        return Map.of("clients", clients.size(), "sellers", sellers.size(), "sampledProducts", productIds.size(),
+                "searchTerms", searchTerms.size(), "browsePages", browsePages);
+    }
+}
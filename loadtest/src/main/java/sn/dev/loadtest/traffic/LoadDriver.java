@@ -0,0 +1,147 @@
+package sn.dev.loadtest.traffic;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model load: each scenario starts sessions at its own rate with exponential inter-arrival times,
+ * whether or not earlier sessions have finished, so a slow system faces growing concurrency instead of a
+ * politely slowed-down client. Sessions run on virtual threads; past {@code maxSessions} in flight new arrivals
+ * are dropped and counted rather than queued.
+ */
+@Slf4j
+public final class LoadDriver implements AutoCloseable {
+
+    private static final class SessionCounts {
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    private final Map<Scenario, Double> rates;
+    private final Traffic traffic;
+    private final Fixtures fixtures;
+    private final Semaphore inFlight;
+    private final int maxSessions;
+    private final Map<Scenario, SessionCounts> counts = new EnumMap<>(Scenario.class);
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Thread> arrivals = new ArrayList<>();
+    private volatile boolean running;
+    private volatile int phase;
+
+    public LoadDriver(Map<Scenario, Double> rates, int maxSessions, Traffic traffic, Fixtures fixtures) {
+        this.rates = rates;
+        this.traffic = traffic;
+        this.fixtures = fixtures;
+        this.maxSessions = maxSessions;
+        this.inFlight = new Semaphore(maxSessions);
+        for (Scenario scenario : Scenario.values()) {
+            counts.put(scenario, new SessionCounts());
+        }
+    }
+
+    public void start() {
+        running = true;
+        rates.forEach((scenario, rate) -> {
+            if (rate > 0) {
+                arrivals.add(Thread.ofPlatform().name("arrivals-" + scenario.label()).daemon()
+                        .start(() -> arrive(scenario, rate)));
+            }
+        });
+    }
+
+    private void arrive(Scenario scenario, double rate) {
+        SessionCounts scenarioCounts = counts.get(scenario);
+        long next = System.nanoTime();
+        while (running) {
+            // Poisson arrivals; scheduled from the previous arrival time so a late wake-up does not lower the rate
+            next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) / rate * 1e9);
+            long delay;
+            while (running && (delay = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            if (!running) {
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                scenarioCounts.dropped.increment();
+                continue;
+            }
+            scenarioCounts.started.increment();
+            int startPhase = phase;
+            sessions.execute(() -> {
+                boolean completed = false;
+                try {
+                    completed = scenario.run(traffic, fixtures);
+                } catch (RuntimeException e) {
+                    log.debug("Session {} aborted", scenario.label(), e);
+                } finally {
+                    // Sessions started during the warmup are left out of the measured counts
+                    if (startPhase == phase) {
+                        (completed ? scenarioCounts.completed : scenarioCounts.failed).increment();
+                    }
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops new arrivals and waits for the sessions in flight, at most {@code drain}.
+     */
+    public void stop(Duration drain) throws InterruptedException {
+        running = false;
+        for (Thread thread : arrivals) {
+            thread.join();
+        }
+        if (!inFlight.tryAcquire(maxSessions, drain.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("⚠️ {} sessions encore en cours après {}", maxSessions - inFlight.availablePermits(), drain);
+        }
+    }
+
+    /**
+     * Forgets the warmup's session counts, together with {@link Traffic#reset()}.
+     */
+    public void reset() {
+        phase++;
+        counts.values().forEach(scenarioCounts -> {
+            scenarioCounts.started.reset();
+            scenarioCounts.completed.reset();
+            scenarioCounts.failed.reset();
+            scenarioCounts.dropped.reset();
+        });
+    }
+
+    public Map<String, Map<String, Long>> sessions() {
+        Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        counts.forEach((scenario, scenarioCounts) -> {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("started", scenarioCounts.started.sum());
+            values.put("completed", scenarioCounts.completed.sum());
+            values.put("failed", scenarioCounts.failed.sum());
+            values.put("dropped", scenarioCounts.dropped.sum());
+            summary.put(scenario.label(), values);
+        });
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sessions.shutdownNow();
+    }
+}
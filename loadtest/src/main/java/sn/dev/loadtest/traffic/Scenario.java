@@ -0,0 +1,181 @@
+package sn.dev.loadtest.traffic;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * What one user session does, all through the gateway. A session stops at its first failed step; the failure
+ * is already counted on the endpoint.
+ */
+public enum Scenario {
+
+    /**
+     * Anonymous visitor: a catalog page, then a few product pages.
+     */
+    BROWSE(4) {
+        @Override
+        boolean run(Traffic traffic, Fixtures fixtures) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (!traffic.get("GET /api/products", "/api/products?page=" + fixtures.anyBrowsePage() + "&size="
+                    + fixtures.browsePageSize(), null).ok()) {
+                return false;
+            }
+            for (int i = random.nextInt(1, 4); i > 0; i--) {
+                if (!traffic.get("GET /api/products/{id}", "/api/products/" + fixtures.anyProduct(), null).ok()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+
+    /**
+     * Logged-in client typing in the search box: suggestions on a prefix, then the search itself, sometimes
+     * narrowed to a price range.
+     */
+    SEARCH(2) {
+        @Override
+        boolean run(Traffic traffic, Fixtures fixtures) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Account client = fixtures.anyClient();
+            String term = fixtures.anySearchTerm();
+            if (!traffic.get("GET /api/products/suggest", "/api/products/suggest?query="
+                    + encode(term.substring(0, Math.min(3, term.length()))), client).ok()) {
+                return false;
+            }
+            String query = "/api/products/search?query=" + encode(term) + "&page=0&size=20";
+            if (random.nextInt(10) < 3) {
+                int min = random.nextInt(0, 200);
+                query += "&minPrice=" + min + "&maxPrice=" + (min + random.nextInt(50, 500));
+            }
+            return traffic.get("GET /api/products/search", query, client).ok();
+        }
+    },
+
+    /**
+     * Client editing their cart: reads it, adds a product, now and then removes one.
+     */
+    CART(1) {
+        @Override
+        boolean run(Traffic traffic, Fixtures fixtures) {
+            Account client = fixtures.borrowClient();
+            if (client == null) {
+                return false;
+            }
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (!traffic.get("GET /api/cart/user/{id}", "/api/cart/user/" + client.id(), client).ok()) {
+                    return false;
+                }
+                Traffic.Response cart = addItem(traffic, fixtures, client);
+                if (!cart.ok()) {
+                    return false;
+                }
+                JsonNode items = cart.json().path("items");
+                if (items.size() > 5 || (!items.isEmpty() && random.nextInt(10) < 3)) {
+                    String productId = items.get(random.nextInt(items.size())).path("productId").asText();
+                    return traffic.delete("DELETE /api/cart/{id}/products/{productId}",
+                            "/api/cart/" + client.cartId() + "/products/" + productId, client).ok();
+                }
+                return true;
+            } finally {
+                fixtures.release(client);
+            }
+        }
+    },
+
+    /**
+     * Client filling a cart and confirming it (which splits it per seller), then opening a fresh cart and
+     * looking at their orders.
+     */
+    CHECKOUT(0.3) {
+        @Override
+        boolean run(Traffic traffic, Fixtures fixtures) {
+            Account client = fixtures.borrowClient();
+            if (client == null) {
+                return false;
+            }
+            try {
+                for (int i = ThreadLocalRandom.current().nextInt(1, 4); i > 0; i--) {
+                    if (!addItem(traffic, fixtures, client).ok()) {
+                        return false;
+                    }
+                }
+                if (!traffic.post("POST /api/orders/{id}/confirm", "/api/orders/" + client.cartId() + "/confirm",
+                        client, Map.of()).ok()) {
+                    return false;
+                }
+                Traffic.Response cart = Fixtures.openCart(traffic, "POST /api/orders", client);
+                if (!cart.ok()) {
+                    return false;
+                }
+                client.cartId(cart.json().path("id").asText());
+                return traffic.get("GET /api/orders/user/{id}", "/api/orders/user/" + client.id(), client).ok()
+                        && traffic.get("GET /api/orders/statistics/user/{id}",
+                                "/api/orders/statistics/user/" + client.id(), client).ok();
+            } finally {
+                fixtures.release(client);
+            }
+        }
+    },
+
+    /**
+     * Seller dashboard: own products, incoming sub-orders and profile.
+     */
+    SELLER(0.5) {
+        @Override
+        boolean run(Traffic traffic, Fixtures fixtures) {
+            Account seller = fixtures.anySeller();
+            if (seller == null) {
+                return false;
+            }
+            if (!traffic.get("GET /api/products/seller/{id}", "/api/products/seller/" + seller.id()
+                    + "?page=0&size=20", seller).ok()) {
+                return false;
+            }
+            // 404 is how order-service answers an empty page: a seller nobody has bought from yet
+            Traffic.Response subOrders = traffic.get("GET /api/sub-orders/seller/{id}", "/api/sub-orders/seller/"
+                    + seller.id() + "?page=0&size=20", seller, 404);
+            if (!subOrders.ok() && subOrders.status() != 404) {
+                return false;
+            }
+            return traffic.get("GET /api/users/{id}/custom", "/api/users/" + seller.id() + "/custom", seller).ok();
+        }
+    };
+
+    private final double defaultRate;
+
+    Scenario(double defaultRate) {
+        this.defaultRate = defaultRate;
+    }
+
+    /**
+     * Sessions started per second unless {@code --<label>.rate} says otherwise.
+     */
+    public double defaultRate() {
+        return defaultRate;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Plays one session; false when a step failed or no account was free.
+     */
+    abstract boolean run(Traffic traffic, Fixtures fixtures);
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Traffic.Response addItem(Traffic traffic, Fixtures fixtures, Account client) {
+        return traffic.patch("PATCH /api/cart/{id}", "/api/cart/" + client.cartId(), client,
+                Map.of("productId", fixtures.anyProduct(), "quantity", ThreadLocalRandom.current().nextInt(1, 4)));
+    }
+}
@@ -0,0 +1,156 @@
+package sn.dev.loadtest.traffic;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * HTTP calls against one base URI. Through the gateway every call is timed into the {@link EndpointStats} of
+ * its endpoint name; direct calls to a service (setup only) are not recorded and use HTTP/1.1.
+ */
+public final class Traffic {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final HttpClient.Version version;
+    private final Map<String, EndpointStats> stats;
+
+    private Traffic(HttpClient client, URI baseUri, Duration timeout, HttpClient.Version version,
+            Map<String, EndpointStats> stats) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.version = version;
+        this.stats = stats;
+    }
+
+    public static Traffic through(HttpClient client, URI gateway, Duration timeout) {
+        return new Traffic(client, gateway, timeout, HttpClient.Version.HTTP_2, new ConcurrentHashMap<>());
+    }
+
+    public static Traffic direct(HttpClient client, URI service, Duration timeout) {
+        return new Traffic(client, service, timeout, HttpClient.Version.HTTP_1_1, null);
+    }
+
+    /**
+     * Status and body of a call; status is 0 when no response arrived.
+     */
+    public record Response(int status, String body) {
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode json() {
+            if (body == null || body.isEmpty()) {
+                return MissingNode.getInstance();
+            }
+            try {
+                return MAPPER.readTree(body);
+            } catch (JsonProcessingException e) {
+                return MissingNode.getInstance();
+            }
+        }
+    }
+
+    /**
+     * {@code expected}: statuses besides 2xx that the caller handles, not counted as errors.
+     */
+    public Response get(String endpoint, String path, Account as, int... expected) {
+        return send(endpoint, request(path, as).GET(), expected);
+    }
+
+    public Response delete(String endpoint, String path, Account as) {
+        return send(endpoint, request(path, as).DELETE());
+    }
+
+    public Response post(String endpoint, String path, Account as, Object body) {
+        return send(endpoint, json(request(path, as), "POST", body));
+    }
+
+    public Response patch(String endpoint, String path, Account as, Object body) {
+        return send(endpoint, json(request(path, as), "PATCH", body));
+    }
+
+    HttpRequest.Builder request(String path, Account as) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .version(version)
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (as != null) {
+            builder.header("Authorization", "Bearer " + as.token());
+        }
+        return builder;
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder, String method, Object body) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Body not serializable: " + body, e);
+        }
+    }
+
+    Response send(String endpoint, HttpRequest.Builder request, int... expected) {
+        long start = System.nanoTime();
+        Response response;
+        String outcome;
+        try {
+            HttpResponse<String> httpResponse = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            response = new Response(httpResponse.statusCode(), httpResponse.body());
+            outcome = String.valueOf(response.status());
+        } catch (HttpTimeoutException e) {
+            response = new Response(0, null);
+            outcome = "timeout";
+        } catch (IOException e) {
+            response = new Response(0, null);
+            outcome = "io-error";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+        if (stats != null) {
+            long micros = (System.nanoTime() - start) / 1000;
+            int status = response.status();
+            boolean error = !response.ok() && Arrays.stream(expected).noneMatch(accepted -> accepted == status);
+            stats.computeIfAbsent(endpoint, EndpointStats::new).record(micros, outcome, error);
+        }
+        return response;
+    }
+
+    /**
+     * Drops what was recorded so far, at the end of the warmup.
+     */
+    public void reset() {
+        if (stats != null) {
+            stats.values().forEach(EndpointStats::reset);
+        }
+    }
+
+    public List<EndpointStats> endpoints() {
+        Collection<EndpointStats> values = stats == null ? List.of() : stats.values();
+        return values.stream()
+                .filter(endpoint -> endpoint.requests() > 0)
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+    }
+}
@@ -0,0 +1,103 @@
+package sn.dev.loadtest.standin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class InMemoryElasticsearchTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private InMemoryElasticsearch elasticsearch;
+
+    @BeforeEach
+    void indexProducts() throws Exception {
+        elasticsearch = new InMemoryElasticsearch();
+        String bulk = """
+                {"index":{"_index":"products","_id":"1"}}
+                {"name":"Wooden dining table","price":120.0}
+                {"index":{"_index":"products","_id":"2"}}
+                {"name":"Table lamp","price":35.0}
+                {"index":{"_index":"products","_id":"3"}}
+                {"name":"Office chair","price":89.0}
+                """;
+        JsonNode response = call("POST", "/_bulk?refresh=true", bulk);
+        assertEquals(false, response.path("errors").asBoolean());
+    }
+
+    @AfterEach
+    void close() {
+        elasticsearch.close();
+    }
+
+    private JsonNode call(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + elasticsearch.port() + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return mapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private List<String> searchIds(String query) throws Exception {
+        JsonNode response = call("POST", "/products/_search", "{\"query\":" + query + "}");
+        List<String> ids = new ArrayList<>();
+        response.path("hits").path("hits").forEach(hit -> ids.add(hit.path("_id").asText()));
+        return ids;
+    }
+
+    @Test
+    void bulkIndexedDocumentsAreCounted() {
+        assertEquals(3, elasticsearch.documentCount("products"));
+    }
+
+    @Test
+    void boolPrefixMatchesTheLastTermAsAPrefix() throws Exception {
+        String query = """
+                {"multi_match":{"query":"tab","type":"bool_prefix","fields":["name","name._2gram"]}}""";
+
+        assertEquals(2, searchIds(query).size());
+    }
+
+    @Test
+    void andOperatorRequiresEveryTerm() throws Exception {
+        String query = """
+                {"multi_match":{"query":"table lamp","fields":["name"],"operator":"and"}}""";
+
+        assertEquals(List.of("2"), searchIds(query));
+    }
+
+    @Test
+    void rangeFilterCombinesWithAMatch() throws Exception {
+        String query = """
+                {"bool":{"must":[{"match":{"name":"table"}}],"filter":[{"range":{"price":{"gte":100}}}]}}""";
+
+        assertEquals(List.of("1"), searchIds(query));
+    }
+
+    @Test
+    void wrapperQueriesAreDecoded() throws Exception {
+        String wrapped = Base64.getEncoder().encodeToString(
+                "{\"match\":{\"name\":\"chair\"}}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of("3"), searchIds("{\"wrapper\":{\"query\":\"" + wrapped + "\"}}"));
+    }
+
+    @Test
+    void tokensAreLowercasedWords() {
+        assertEquals(List.of("wooden", "dining", "table"), InMemoryElasticsearch.tokens("Wooden  dining-TABLE"));
+    }
+}
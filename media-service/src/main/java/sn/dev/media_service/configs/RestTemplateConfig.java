@@ -1,20 +1,39 @@
 package sn.dev.media_service.configs;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    public static final String LOAD_BALANCED = "loadBalancedRestTemplate";
+
+    // Plain template for external hosts (cloud storage)
     @Bean
-    public RestTemplate restTemplate() {
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return build(builder);
+    }
+
+    // Service-to-service calls: hosts are service ids (http://product-service) resolved through Eureka
+    @Bean(LOAD_BALANCED)
+    @LoadBalanced
+    public RestTemplate loadBalancedRestTemplate(RestTemplateBuilder builder) {
+        return build(builder);
+    }
+
+    private static RestTemplate build(RestTemplateBuilder builder) {
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
         // sensible defaults
         requestFactory.setConnectTimeout(10_000);
         requestFactory.setReadTimeout(30_000);
-        return new RestTemplate(requestFactory);
+        // Built from Boot's builder so every call is observed (http.client.requests)
+        return builder.requestFactory(() -> requestFactory).build();
     }
 }
 
@@ -0,0 +1,38 @@
+package sn.dev.media_service.configs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import io.micrometer.observation.ObservationRegistry;
+import sn.dev.service_support.tracing.SpanFileExporter;
+
+/**
+ * Spring Boot traces every inbound request (continuing the caller's W3C {@code traceparent}) and every call of
+ * the RestTemplate built in {@link RestTemplateConfig}, cloud storage uploads included; this adds a span per
+ * Mongo command, child of the current one. Spans go to the OTLP collector at
+ * {@code management.otlp.tracing.endpoint} when it is set, and to {@code tracing.file}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandTracing(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file")
+    public SpanFileExporter spanFileExporter(@Value("${tracing.file}") Path file) throws IOException {
+        return new SpanFileExporter(file);
+    }
+}
@@ -0,0 +1,48 @@
+package sn.dev.media_service.configs;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UploadExecutorConfig {
+
+    /**
+     * Bounded pool used to push the files of a batch upload to cloud storage concurrently.
+     * When the queue is full the request thread runs the upload itself, which throttles callers.
+     * In virtual-thread mode each upload gets its own virtual thread, still at most pool-size at once: a caller
+     * past the limit blocks until a slot frees up, the same back-pressure without a pool of parked carriers.
+     * Uploads run in the caller's trace, so their cloud storage calls show up under the upload request.
+     */
+    @Bean(name = "mediaUploadExecutor")
+    public AsyncTaskExecutor mediaUploadExecutor(
+            @Value("${media.upload.pool-size:8}") int poolSize,
+            @Value("${media.upload.queue-capacity:50}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("media-upload-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            executor.setTaskTerminationTimeout(30_000);
+            executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
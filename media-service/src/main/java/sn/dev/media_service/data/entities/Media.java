@@ -12,4 +12,6 @@ public class Media {
     private String id;
     private String imageUrl;
     private String productId;
+    // Size in bytes of the stored object, null for media created before it was tracked
+    private Long size;
 }
@@ -2,6 +2,7 @@ package sn.dev.media_service.data.repos;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,6 @@ import sn.dev.media_service.data.entities.Media;
 public interface MediaRepo extends MongoRepository<Media, String> {
     List<Media> findByProductId(String productId);
     void deleteByProductId(String productId);
+    // Keyset scan over the collection, used by the orphaned media GC
+    List<Media> findByIdGreaterThan(String id, Pageable pageable);
 }
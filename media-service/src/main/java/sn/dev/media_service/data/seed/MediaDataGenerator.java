@@ -0,0 +1,105 @@
+package sn.dev.media_service.data.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.service_support.seed.GeneratorSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test dataset generator, active with the "datagen" profile instead of {@link MediaSeeding}.
+ * Products are referenced by their generated ids, product-service does not need to be up.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class MediaDataGenerator implements CommandLineRunner {
+
+    // Id space reserved per product, at most 5 media are generated
+    private static final int MEDIA_SLOTS_PER_PRODUCT = 8;
+
+    private final MongoTemplate mongoTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.products:1000000}")
+    private long productCount;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${datagen.drop-existing:false}")
+    private boolean dropExisting;
+
+    @Value("${datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) {
+        if (dropExisting) {
+            log.info("🧹 Suppression des médias existants...");
+            mongoTemplate.dropCollection(Media.class);
+        }
+
+        if (mongoTemplate.estimatedCount(Media.class) > 0) {
+            log.warn("⚠️ La collection de médias n'est pas vide, génération ignorée (datagen.drop-existing=true pour la vider)");
+        } else {
+            generateMedia();
+        }
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void generateMedia() {
+        log.info("🚀 Génération des médias de {} produits (seed={}, lots de {}, {} threads)...",
+                productCount, seed, batchSize, threads);
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+
+        // Découpage par produit: 2-5 médias chacun
+        GeneratorSupport.forEachChunk("Media", productCount, batchSize, threads, (from, to) -> {
+            SplittableRandom random = new SplittableRandom(GeneratorSupport.seedFor(seed, GeneratorSupport.MEDIA, from));
+            List<Media> medias = new ArrayList<>((int) (to - from) * 5);
+            for (long productIndex = from; productIndex < to; productIndex++) {
+                int imageCount = random.nextInt(2, 6);
+                for (int i = 0; i < imageCount; i++) {
+                    Media media = new Media();
+                    media.setId(GeneratorSupport.id(GeneratorSupport.MEDIA, productIndex * MEDIA_SLOTS_PER_PRODUCT + i));
+                    media.setProductId(GeneratorSupport.id(GeneratorSupport.PRODUCT, productIndex));
+                    media.setImageUrl(String.format("https://picsum.photos/seed/%d/800/600", random.nextInt(1_000_000)));
+                    medias.add(media);
+                }
+            }
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class)
+                    .insert(medias)
+                    .execute();
+            written.addAndGet(medias.size());
+        });
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("✅ {} médias créés pour {} produits en {} ms ({} médias/s)",
+                written.get(), productCount, elapsedMillis, written.get() * 1000 / elapsedMillis);
+    }
+}
@@ -3,26 +3,36 @@ package sn.dev.media_service.data.seed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 import sn.dev.media_service.data.entities.Media;
 import sn.dev.media_service.data.repos.MediaRepo;
 import sn.dev.media_service.services.ProductServiceClient;
-import sn.dev.media_service.web.controllers.dto.ProductDto;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 @Order(2)
+@Profile("!datagen")
 @RequiredArgsConstructor
 public class MediaSeeding implements CommandLineRunner {
 
     private final MediaRepo mediaRepo;
+    private final MongoTemplate mongoTemplate;
     private final ProductServiceClient productServiceClient;
     private final Faker faker = new Faker(Locale.FRENCH);
 
+    @Value("${media.seed.page-size:1000}")
+    private int pageSize;
+
     @Override
     public void run(String... args) {
         if (mediaRepo.count() == 0) {
@@ -31,31 +41,58 @@ public class MediaSeeding implements CommandLineRunner {
     }
 
     private void seedMedia() {
-        // Récupérer tous les produits depuis product-service
-        List<ProductDto> products = productServiceClient.fetchProductsFromProductService();
+        long start = System.nanoTime();
+        AtomicLong mediaCount = new AtomicLong();
 
-        if (products.isEmpty()) {
-            log.warn("⚠️ Aucun produit trouvé dans product-service. Création de médias factices...");
+        // Chaque page de produits est transformée puis insérée avant de récupérer la suivante
+        long productCount;
+        try {
+            productCount = productServiceClient.forEachProductIdPage(pageSize, productIds -> {
+                List<Media> pageMedia = generateMedia(productIds);
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class)
+                        .insert(pageMedia)
+                        .execute();
+                long total = mediaCount.addAndGet(pageMedia.size());
+                log.info("📦 {} médias insérés ({} médias/s)", total, ratePerSecond(total, start));
+            });
+        } catch (RuntimeException e) {
+            // product-service peut démarrer après media-service: l'échec est signalé sans bloquer le démarrage
+            log.error("❌ Seeding des médias interrompu après {} médias insérés: {}",
+                    mediaCount.get(), e.getMessage(), e);
             return;
         }
 
-        List<Media> allMedia = new ArrayList<>();
+        if (productCount == 0) {
+            log.warn("⚠️ Aucun produit trouvé dans product-service. Aucun média créé.");
+            return;
+        }
 
-        // Générer 2-5 images par produit
-        for (ProductDto product : products) {
-            String category = productServiceClient.inferCategoryFromProductName(product.getName());
+        log.info("✅ {} images fictives ont été créées pour {} produits en {} ms ({} produits/s, {} médias/s)",
+                mediaCount.get(), productCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                ratePerSecond(productCount, start), ratePerSecond(mediaCount.get(), start));
+    }
+
+    private List<Media> generateMedia(List<String> productIds) {
+        List<Media> pageMedia = new ArrayList<>(productIds.size() * 5);
+
+        // Générer 2-5 images par produit; seuls les identifiants sont récupérés, la catégorie est tirée au hasard
+        for (String productId : productIds) {
+            String category = productServiceClient.getRandomCategory();
             int imageCount = faker.number().numberBetween(2, 6);
 
             for (int i = 0; i < imageCount; i++) {
                 Media media = new Media();
                 media.setImageUrl(generateImageUrl(category, i));
-                media.setProductId(product.getId());
-                allMedia.add(media);
+                media.setProductId(productId);
+                pageMedia.add(media);
             }
         }
+        return pageMedia;
+    }
 
-        mediaRepo.saveAll(allMedia);
-        log.info("✅ {} images fictives ont été créées pour {} produits!", allMedia.size(), products.size());
+    private long ratePerSecond(long count, long startNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return count * 1000 / elapsedMillis;
     }
 
     private String generateImageUrl(String category, int index) {
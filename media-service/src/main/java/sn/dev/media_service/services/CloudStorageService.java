@@ -5,4 +5,10 @@ import org.springframework.web.multipart.MultipartFile;
 public interface CloudStorageService {
 
     String upload(MultipartFile file);
+
+    /**
+     * Deletes the stored object behind a public URL returned by {@link #upload}.
+     * Returns false when the URL does not point to our bucket (e.g. seeded placeholder images).
+     */
+    boolean delete(String imageUrl);
 }
@@ -0,0 +1,19 @@
+package sn.dev.media_service.services;
+
+public interface MediaGcService {
+
+    /**
+     * Scans the next slice of the media collection and removes media whose product no longer exists.
+     */
+    Report collectOrphans();
+
+    record Report(
+            int scanned,
+            int orphans,
+            int deletedDocuments,
+            int deletedObjects,
+            long reclaimedBytes,
+            int failures,
+            boolean cycleCompleted) {
+    }
+}
@@ -1,11 +1,16 @@
 package sn.dev.media_service.services;
 
-import sn.dev.media_service.web.controllers.dto.ProductDto;
-
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductServiceClient {
-    List<ProductDto> fetchProductsFromProductService();
+    // Walks every product id one keyset page at a time, returns the number of ids handed to the consumer.
+    // Throws when product-service cannot answer, the ids already handed over stay processed
+    long forEachProductIdPage(int pageSize, Consumer<List<String>> pageConsumer);
+    // Throws when product-service cannot answer, callers must not read that as "no product exists"
+    Set<String> findExistingProductIds(Collection<String> productIds);
     String inferCategoryFromProductName(String name);
     String getRandomCategory();
 }
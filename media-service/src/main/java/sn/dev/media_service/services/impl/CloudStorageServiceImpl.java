@@ -93,6 +93,33 @@ public class CloudStorageServiceImpl implements CloudStorageService {
         }
     }
 
+    @Override
+    public boolean delete(String imageUrl) {
+        String publicPrefix = String.format("%s/storage/v1/object/public/%s/", projectUrl, bucketName);
+        if (imageUrl == null || !imageUrl.startsWith(publicPrefix)) {
+            return false;
+        }
+
+        String fileName = imageUrl.substring(publicPrefix.length());
+        String deleteUrl = String.format("%s/storage/v1/object/%s/%s", projectUrl, bucketName, fileName);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(apiKey);
+
+        try {
+            restTemplate.exchange(deleteUrl, HttpMethod.DELETE, new HttpEntity<>(headers), String.class);
+        } catch (RestClientResponseException rcre) {
+            // Already gone, nothing left to reclaim
+            if (rcre.getStatusCode().value() == 404) {
+                return true;
+            }
+            throw new CloudStorageException(
+                    String.format("Supabase delete failed: HTTP %d - %s", rcre.getStatusCode().value(),
+                            rcre.getResponseBodyAsString()), rcre);
+        }
+        return true;
+    }
+
     /**
      * Sanitizes a filename by removing special characters, emojis, and spaces
      * that are not allowed in Supabase Storage keys
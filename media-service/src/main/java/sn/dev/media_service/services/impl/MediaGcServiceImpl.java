@@ -0,0 +1,200 @@
+package sn.dev.media_service.services.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.services.CloudStorageService;
+import sn.dev.media_service.services.MediaGcService;
+import sn.dev.media_service.services.ProductServiceClient;
+
+@Slf4j
+@Service
+public class MediaGcServiceImpl implements MediaGcService {
+
+    private final MediaRepo mediaRepo;
+    private final CloudStorageService cloudStorageService;
+    private final ProductServiceClient productServiceClient;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long deleteIntervalNanos;
+    private final Duration gracePeriod;
+
+    private final Counter deletedDocumentsCounter;
+    private final Counter reclaimedBytesCounter;
+
+    // One run at a time (scheduler vs manual trigger). A lock rather than synchronized: a run sleeps and does I/O,
+    // which would pin the carrier thread when it runs on a virtual thread
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    // Last _id scanned, the next run resumes after it; null restarts from the beginning
+    private String cursor;
+    private long nextDeleteAt;
+
+    public MediaGcServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService,
+            ProductServiceClient productServiceClient, MeterRegistry meterRegistry,
+            @Value("${media.gc.enabled:true}") boolean enabled,
+            @Value("${media.gc.batch-size:500}") int batchSize,
+            @Value("${media.gc.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${media.gc.max-deletes-per-second:20}") int maxDeletesPerSecond,
+            @Value("${media.gc.grace-period:PT1H}") Duration gracePeriod) {
+        this.mediaRepo = mediaRepo;
+        this.cloudStorageService = cloudStorageService;
+        this.productServiceClient = productServiceClient;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.deleteIntervalNanos = maxDeletesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond : 0;
+        this.gracePeriod = gracePeriod;
+        this.nextDeleteAt = System.nanoTime();
+        this.deletedDocumentsCounter = Counter.builder("media.gc.deleted.documents")
+                .description("Orphaned media documents removed by the GC")
+                .register(meterRegistry);
+        this.reclaimedBytesCounter = Counter.builder("media.gc.reclaimed.bytes")
+                .description("Storage bytes reclaimed by the GC")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${media.gc.initial-delay:PT10M}", fixedDelayString = "${media.gc.interval:PT1H}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            collectOrphans();
+        } catch (RuntimeException e) {
+            // The cursor was not advanced past the failing batch, it is retried on the next run
+            log.error("❌ GC des médias interrompu: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Report collectOrphans() {
+        runLock.lock();
+        try {
+            return runCycle();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private Report runCycle() {
+        int scanned = 0;
+        int orphans = 0;
+        int deletedDocuments = 0;
+        int deletedObjects = 0;
+        long reclaimedBytes = 0;
+        int failures = 0;
+        boolean cycleCompleted = false;
+
+        Instant protectedAfter = Instant.now().minus(gracePeriod);
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            PageRequest page = PageRequest.of(0, batchSize, Sort.by("id"));
+            List<Media> medias = cursor == null
+                    ? mediaRepo.findAll(page).getContent()
+                    : mediaRepo.findByIdGreaterThan(cursor, page);
+
+            if (!medias.isEmpty()) {
+                Set<String> productIds = medias.stream()
+                        .map(Media::getProductId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                // One lookup per batch; if it throws nothing is deleted
+                Set<String> existing = productServiceClient.findExistingProductIds(productIds);
+
+                List<String> toDelete = new ArrayList<>();
+                for (Media media : medias) {
+                    if (existing.contains(media.getProductId()) || isRecent(media, protectedAfter)) {
+                        continue;
+                    }
+                    orphans++;
+                    throttle();
+                    try {
+                        if (cloudStorageService.delete(media.getImageUrl())) {
+                            deletedObjects++;
+                            reclaimedBytes += media.getSize() != null ? media.getSize() : 0;
+                        }
+                        toDelete.add(media.getId());
+                    } catch (RuntimeException e) {
+                        // Keep the document so the object is retried on the next cycle
+                        failures++;
+                        log.warn("⚠️ Suppression du fichier {} impossible: {}", media.getImageUrl(), e.getMessage());
+                    }
+                }
+
+                if (!toDelete.isEmpty()) {
+                    mediaRepo.deleteAllById(toDelete);
+                    deletedDocuments += toDelete.size();
+                }
+                scanned += medias.size();
+                cursor = medias.get(medias.size() - 1).getId();
+            }
+
+            if (medias.size() < batchSize) {
+                cursor = null;
+                cycleCompleted = true;
+                break;
+            }
+        }
+
+        deletedDocumentsCounter.increment(deletedDocuments);
+        reclaimedBytesCounter.increment(reclaimedBytes);
+
+        Report report = new Report(scanned, orphans, deletedDocuments, deletedObjects, reclaimedBytes, failures,
+                cycleCompleted);
+        log.info("🧹 GC des médias: {} analysés, {} orphelins, {} documents et {} fichiers supprimés, {} octets récupérés, {} échecs",
+                scanned, orphans, deletedDocuments, deletedObjects, reclaimedBytes, failures);
+        return report;
+    }
+
+    /**
+     * Media created during the grace period are skipped, their product may not be visible yet.
+     */
+    private boolean isRecent(Media media, Instant protectedAfter) {
+        if (!ObjectId.isValid(media.getId())) {
+            return false;
+        }
+        return new ObjectId(media.getId()).getDate().toInstant().isAfter(protectedAfter);
+    }
+
+    /**
+     * Spaces storage deletions to at most media.gc.max-deletes-per-second.
+     */
+    private void throttle() {
+        if (deleteIntervalNanos == 0) {
+            return;
+        }
+        long wait = nextDeleteAt - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Media GC interrupted", e);
+            }
+        }
+        nextDeleteAt = System.nanoTime() + deleteIntervalNanos;
+    }
+}
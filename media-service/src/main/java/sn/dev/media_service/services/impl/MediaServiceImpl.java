@@ -1,8 +1,13 @@
 package sn.dev.media_service.services.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,13 +22,19 @@ import sn.dev.media_service.services.MediaService;
 public class MediaServiceImpl implements MediaService {
     private final MediaRepo mediaRepo;
     private final CloudStorageService cloudStorageService;
+    private final Executor uploadExecutor;
     
     // File size limit: 5MB
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
-    public MediaServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService) {
+    // Max number of files accepted in one batch upload
+    private static final int MAX_FILES_PER_BATCH = 5;
+
+    public MediaServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService,
+            @Qualifier("mediaUploadExecutor") Executor uploadExecutor) {
         this.mediaRepo = mediaRepo;
         this.cloudStorageService = cloudStorageService;
+        this.uploadExecutor = uploadExecutor;
     }
 
     @Override
@@ -38,10 +49,51 @@ public class MediaServiceImpl implements MediaService {
         Media media = new Media();
         media.setImageUrl(imageUrl);
         media.setProductId(productId);
+        media.setSize(file.getSize());
 
         return mediaRepo.save(media);
     }
 
+    @Override
+    public List<Media> uploadAndSaveAll(List<MultipartFile> files, String productId) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file must be provided");
+        }
+        if (files.size() > MAX_FILES_PER_BATCH) {
+            throw new IllegalArgumentException("Too many files (max " + MAX_FILES_PER_BATCH + " per upload)");
+        }
+
+        // 1. Validate every file first so that an invalid one uploads nothing
+        files.forEach(this::validateFile);
+
+        // 2. Upload all files concurrently, latency is bounded by the slowest upload
+        List<CompletableFuture<String>> uploads = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> cloudStorageService.upload(file), uploadExecutor))
+                .toList();
+
+        List<String> imageUrls;
+        try {
+            imageUrls = uploads.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        // 3. Save all media infos to MongoDB in one call, keeping the files order
+        List<Media> medias = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            Media media = new Media();
+            media.setImageUrl(imageUrls.get(i));
+            media.setProductId(productId);
+            media.setSize(files.get(i).getSize());
+            medias.add(media);
+        }
+
+        return mediaRepo.saveAll(medias);
+    }
+
     @Override
     public String uploadImage(MultipartFile file) {
         // 1. Validate file
@@ -1,74 +1,85 @@
 package sn.dev.media_service.services.impl;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import sn.dev.media_service.configs.RestTemplateConfig;
 import sn.dev.media_service.services.ProductServiceClient;
-import sn.dev.media_service.web.controllers.dto.PageResponse;
-import sn.dev.media_service.web.controllers.dto.ProductDto;
+import sn.dev.media_service.web.controllers.dto.ProductIdPage;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ProductServiceClientImpl implements ProductServiceClient {
 
     private final Faker faker = new Faker(Locale.FRENCH);
+    private final RestTemplate restTemplate;
+    private final String productServiceUrl;
+
+    // The host is the Eureka service id, resolved by the load-balanced template
+    public ProductServiceClientImpl(@Qualifier(RestTemplateConfig.LOAD_BALANCED) RestTemplate restTemplate,
+            @Value("${product.service.url:http://product-service}") String productServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.productServiceUrl = productServiceUrl;
+    }
 
     @Override
-    public List<ProductDto> fetchProductsFromProductService() {
-        List<ProductDto> allProducts = new ArrayList<>();
-
-        try {
-            String productServiceUrl = System.getenv().getOrDefault("PRODUCT_SERVICE_URL", "http://localhost:8082");
-            RestTemplate restTemplate = new RestTemplate();
-
-            int currentPage = 0;
-            int totalPages;
-            int pageSize = 300; // Récupérer 100 produits par page pour optimiser
-
-            do {
-                String url = String.format("%s/api/products?page=%d&size=%d",
-                                           productServiceUrl, currentPage, pageSize);
-
-                ResponseEntity<PageResponse<ProductDto>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<PageResponse<ProductDto>>() {}
-                );
-
-                PageResponse<ProductDto> pageResponse = response.getBody();
-
-                if (pageResponse != null && pageResponse.getContent() != null) {
-                    allProducts.addAll(pageResponse.getContent());
-                    totalPages = pageResponse.getTotalPages();
-
-                    log.info("📦 Page {}/{} récupérée: {} produits",
-                             currentPage + 1, totalPages, pageResponse.getContent().size());
-
-                    currentPage++;
-                } else {
-                    break;
-                }
-
-            } while (currentPage < totalPages);
-
-            log.info("✅ Total: {} produits récupérés depuis product-service", allProducts.size());
+    public long forEachProductIdPage(int pageSize, Consumer<List<String>> pageConsumer) {
+        long fetched = 0;
+        String after = null;
+
+        do {
+            // Keyset: each page starts after the last id of the previous one, no offset to skip over.
+            // An empty "after" asks for the first page
+            ProductIdPage page = restTemplate.getForObject(
+                productServiceUrl + "/api/products/ids?size={size}&after={after}",
+                ProductIdPage.class,
+                pageSize,
+                after == null ? "" : after
+            );
+            if (page == null || page.getContent() == null || page.getContent().isEmpty()) {
+                break;
+            }
+
+            // Only the current page is held in memory, the consumer is done with it before the next fetch
+            pageConsumer.accept(page.getContent());
+            fetched += page.getContent().size();
+            after = page.getNextCursor();
+
+            log.debug("📦 Page traitée: {} produits ({} au total)", page.getContent().size(), fetched);
+        } while (after != null);
+
+        log.info("✅ Total: {} produits récupérés depuis product-service", fetched);
+        return fetched;
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Erreur lors de la récupération des produits: {}", e.getMessage(), e);
+    @Override
+    public Set<String> findExistingProductIds(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
         }
-
-        return allProducts;
+        ResponseEntity<Set<String>> response = restTemplate.exchange(
+            productServiceUrl + "/api/products/exists",
+            HttpMethod.POST,
+            new HttpEntity<>(List.copyOf(productIds)),
+            new ParameterizedTypeReference<Set<String>>() {}
+        );
+        if (response.getBody() == null) {
+            throw new IllegalStateException("Empty response from product-service existence check");
+        }
+        return response.getBody();
     }
 
     @Override
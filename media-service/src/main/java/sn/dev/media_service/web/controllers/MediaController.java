@@ -17,6 +17,10 @@ public interface MediaController {
     ResponseEntity<Media> uploadNsave(@RequestParam MultipartFile file,
             @RequestParam String productId);
 
+    @PutMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ResponseEntity<List<Media>> uploadNsaveAll(@RequestParam List<MultipartFile> files,
+            @RequestParam String productId);
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<Map<String,String >> uploadImage(@RequestParam MultipartFile file);
 
@@ -1,19 +0,0 @@
-package sn.dev.media_service.web.controllers.dto;
-
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.Data;
-
-import java.util.List;
-
-@Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class PageResponse<T> {
-    private List<T> content;
-    private int totalPages;
-    private long totalElements;
-    private int size;
-    private int number;
-    private boolean first;
-    private boolean last;
-}
-
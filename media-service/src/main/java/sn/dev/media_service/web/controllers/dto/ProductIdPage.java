@@ -0,0 +1,14 @@
+package sn.dev.media_service.web.controllers.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of product-service's id listing, nextCursor is null on the last page
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductIdPage {
+    private List<String> content;
+    private String nextCursor;
+}
@@ -27,6 +27,12 @@ public class MediaControllerImpl implements MediaController {
         return ResponseEntity.ok(media);
     }
 
+    @Override
+    public ResponseEntity<List<Media>> uploadNsaveAll(List<MultipartFile> files, String productId) {
+        List<Media> medias = mediaService.uploadAndSaveAll(files, productId);
+        return ResponseEntity.ok(medias);
+    }
+
     @Override
     public ResponseEntity<Map<String,String>> uploadImage(MultipartFile file) {
         Map<String,String> url = new HashMap<>();
@@ -0,0 +1,132 @@
+package sn.dev.media_service.services;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.exceptions.CloudStorageException;
+import sn.dev.media_service.services.impl.MediaGcServiceImpl;
+import sn.dev.media_service.services.impl.ProductServiceClientImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class MediaGcServiceImplTests {
+
+    private MediaRepo mediaRepo;
+    private CloudStorageService cloudStorageService;
+    private ProductServiceClient productServiceClient;
+    private MediaGcServiceImpl gcService;
+
+    @BeforeEach
+    void setUp() {
+        mediaRepo = Mockito.mock(MediaRepo.class);
+        cloudStorageService = Mockito.mock(CloudStorageService.class);
+        productServiceClient = Mockito.mock(ProductServiceClient.class);
+        gcService = new MediaGcServiceImpl(mediaRepo, cloudStorageService, productServiceClient,
+                new SimpleMeterRegistry(), true, 10, 5, 0, Duration.ofHours(1));
+    }
+
+    @Test
+    void collectOrphans_deletesOnlyMediaOfMissingProducts() {
+        Media kept = media("p1", 100L);
+        Media orphan = media("gone", 250L);
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(kept, orphan)));
+        when(productServiceClient.findExistingProductIds(Set.of("p1", "gone"))).thenReturn(Set.of("p1"));
+        when(cloudStorageService.delete(orphan.getImageUrl())).thenReturn(true);
+
+        MediaGcService.Report report = gcService.collectOrphans();
+
+        verify(mediaRepo).deleteAllById(List.of(orphan.getId()));
+        verify(cloudStorageService, never()).delete(kept.getImageUrl());
+        assertEquals(2, report.scanned());
+        assertEquals(1, report.deletedDocuments());
+        assertEquals(250L, report.reclaimedBytes());
+        assertTrue(report.cycleCompleted());
+    }
+
+    @Test
+    void collectOrphans_storageFailure_keepsDocument() {
+        Media orphan = media("gone", 250L);
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(orphan)));
+        when(productServiceClient.findExistingProductIds(anySet())).thenReturn(Set.of());
+        when(cloudStorageService.delete(anyString())).thenThrow(new CloudStorageException("HTTP 500"));
+
+        MediaGcService.Report report = gcService.collectOrphans();
+
+        verify(mediaRepo, never()).deleteAllById(anyList());
+        assertEquals(1, report.failures());
+        assertEquals(0, report.deletedDocuments());
+    }
+
+    @Test
+    void collectOrphans_productLookupFails_deletesNothing() {
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(media("p1", 10L))));
+        when(productServiceClient.findExistingProductIds(anySet())).thenThrow(new IllegalStateException("down"));
+
+        assertThrows(IllegalStateException.class, () -> gcService.collectOrphans());
+        verifyNoInteractions(cloudStorageService);
+        verify(mediaRepo, never()).deleteAllById(anyList());
+    }
+
+    @Test
+    void collectOrphans_recentMedia_isProtectedByGracePeriod() {
+        Media recent = media("gone", 10L);
+        recent.setId(new ObjectId().toHexString());
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(recent)));
+        when(productServiceClient.findExistingProductIds(anySet())).thenReturn(Set.of());
+
+        MediaGcService.Report report = gcService.collectOrphans();
+
+        assertEquals(0, report.orphans());
+        verifyNoInteractions(cloudStorageService);
+    }
+
+    @Test
+    void collectOrphans_productServiceAnswersWithAnError_deletesNothing() {
+        // Real client on the product-service id, the way the load-balanced template is called
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer productService = MockRestServiceServer.bindTo(restTemplate).build();
+        productService.expect(requestTo("http://product-service/api/products/exists"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        MediaGcServiceImpl gc = new MediaGcServiceImpl(mediaRepo, cloudStorageService,
+                new ProductServiceClientImpl(restTemplate, "http://product-service"),
+                new SimpleMeterRegistry(), true, 10, 5, 0, Duration.ofHours(1));
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(media("p1", 10L))));
+
+        assertThrows(HttpServerErrorException.class, gc::collectOrphans);
+        productService.verify();
+        verifyNoInteractions(cloudStorageService);
+        verify(mediaRepo, never()).deleteAllById(anyList());
+    }
+
+    private Media media(String productId, Long size) {
+        Media media = new Media();
+        // Ids older than the grace period
+        media.setId(new ObjectId(new Date(System.currentTimeMillis() - Duration.ofDays(2).toMillis())).toHexString());
+        media.setProductId(productId);
+        media.setImageUrl("http://cloud/" + productId + "/" + media.getId());
+        media.setSize(size);
+        return media;
+    }
+}
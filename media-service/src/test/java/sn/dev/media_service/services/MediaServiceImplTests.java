@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class MediaServiceImplTests {
@@ -26,7 +27,7 @@ class MediaServiceImplTests {
     void setUp() {
         mediaRepo = Mockito.mock(MediaRepo.class);
         cloudStorageService = Mockito.mock(CloudStorageService.class);
-        mediaService = new MediaServiceImpl(mediaRepo, cloudStorageService);
+        mediaService = new MediaServiceImpl(mediaRepo, cloudStorageService, Runnable::run);
     }
 
 
@@ -72,6 +73,37 @@ class MediaServiceImplTests {
         assertThrows(IllegalArgumentException.class, () -> mediaService.uploadAndSave(file, "product123"));
     }
 
+    @Test
+    void uploadAndSaveAll_validFiles_savesInOrder() {
+        byte[] png = new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+        MockMultipartFile first = new MockMultipartFile("files", "a.png", "image/png", png);
+        MockMultipartFile second = new MockMultipartFile("files", "b.png", "image/png", png);
+
+        when(cloudStorageService.upload(first)).thenReturn("http://cloud/a.png");
+        when(cloudStorageService.upload(second)).thenReturn("http://cloud/b.png");
+        when(mediaRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Media> result = mediaService.uploadAndSaveAll(List.of(first, second), "product123");
+
+        assertEquals(2, result.size());
+        assertEquals("http://cloud/a.png", result.get(0).getImageUrl());
+        assertEquals("http://cloud/b.png", result.get(1).getImageUrl());
+        assertEquals("product123", result.get(1).getProductId());
+        verify(mediaRepo, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void uploadAndSaveAll_oneInvalidFile_uploadsNothing() {
+        byte[] png = new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+        MockMultipartFile valid = new MockMultipartFile("files", "a.png", "image/png", png);
+        MockMultipartFile empty = new MockMultipartFile("files", "b.png", "image/png", new byte[]{});
+
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaService.uploadAndSaveAll(List.of(valid, empty), "product123"));
+        verifyNoInteractions(cloudStorageService);
+        verifyNoInteractions(mediaRepo);
+    }
+
     @Test
     void findById_existingMedia_success() {
         Media media = new Media();
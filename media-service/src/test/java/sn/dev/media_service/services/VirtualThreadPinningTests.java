@@ -0,0 +1,134 @@
+package sn.dev.media_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import sn.dev.media_service.configs.RestTemplateConfig;
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.services.impl.MediaGcServiceImpl;
+
+/**
+ * Blocking work that runs on virtual threads (spring.threads.virtual.enabled) must park, not pin its carrier:
+ * JFR reports every park inside a synchronized block or native frame as jdk.VirtualThreadPinned.
+ */
+class VirtualThreadPinningTests {
+
+    private static List<RecordedEvent> pinnedEventsDuring(ThrowingRunnable work) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void throttledGcRunsOnVirtualThreadsDoNotPin() throws Exception {
+        MediaRepo mediaRepo = mock(MediaRepo.class);
+        CloudStorageService cloudStorageService = mock(CloudStorageService.class);
+        ProductServiceClient productServiceClient = mock(ProductServiceClient.class);
+        List<Media> orphans = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Media media = new Media();
+            media.setId(new ObjectId(new Date(0)).toHexString());
+            media.setProductId("gone-" + i);
+            media.setImageUrl("https://storage/gone-" + i + ".png");
+            orphans.add(media);
+        }
+        when(mediaRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(orphans));
+        when(productServiceClient.findExistingProductIds(anyCollection())).thenReturn(Set.of());
+        when(cloudStorageService.delete(anyString())).thenReturn(true);
+        // 50 deletes per second: the run sleeps between deletions while holding the run lock
+        MediaGcServiceImpl gcService = new MediaGcServiceImpl(mediaRepo, cloudStorageService, productServiceClient,
+                new SimpleMeterRegistry(), true, 10, 1, 50, Duration.ofHours(1));
+
+        List<RecordedEvent> pinned = pinnedEventsDuring(() -> {
+            Thread first = Thread.ofVirtual().start(gcService::collectOrphans);
+            Thread second = Thread.ofVirtual().start(gcService::collectOrphans);
+            first.join();
+            second.join();
+        });
+
+        assertTrue(pinned.isEmpty(), () -> "pinned: " + pinned);
+    }
+
+    @Test
+    void restTemplateCallsOnVirtualThreadsDoNotPin() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/products/exists", exchange -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        RestTemplate restTemplate = new RestTemplateConfig().restTemplate(new RestTemplateBuilder());
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/products/exists";
+        ConcurrentLinkedQueue<String> responses = new ConcurrentLinkedQueue<>();
+
+        try {
+            List<RecordedEvent> pinned = pinnedEventsDuring(() -> {
+                List<Thread> callers = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    callers.add(Thread.ofVirtual().start(
+                            () -> responses.add(restTemplate.postForObject(url, List.of("p1"), String.class))));
+                }
+                for (Thread caller : callers) {
+                    caller.join();
+                }
+            });
+
+            assertEquals(20, responses.size());
+            assertTrue(pinned.isEmpty(), () -> "pinned: " + pinned);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -12,7 +12,7 @@ import java.util.List;
 
 @FeignClient(
         name = "product-service",
-        url = "${product.service.url}",
+        path = "/api/products",
         configuration = FeignSupportConfig.class
 )
 public interface ProductClient {
@@ -3,14 +3,19 @@ package sn.dev.order_service.client.user;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import sn.dev.order_service.config.FeignSupportConfig;
+import sn.dev.order_service.web.dto.UserPageDto;
 import sn.dev.order_service.web.dto.UserResponseDto;
 
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(
         name = "user-service",
-        url = "${user.service.url}",
+        path = "/api/users",
         configuration = FeignSupportConfig.class
 )
 public interface UserClient {
@@ -19,5 +24,13 @@ public interface UserClient {
 
     @GetMapping("/seller")
     List<UserResponseDto> getAllUsers();
+
+    // Keyset page of sellers ordered by id, pass the previous page's nextCursor as "after" (max size 1000)
+    @GetMapping("/seller/page")
+    UserPageDto getSellerPage(@RequestParam(value = "after", required = false) String after, @RequestParam("size") int size);
+
+    // Unknown ids are simply missing from the result (max 1000 ids per call); requires an authenticated caller
+    @PostMapping("/batch")
+    List<UserResponseDto> getByIds(@RequestBody Collection<String> ids);
 }
 
@@ -0,0 +1,28 @@
+package sn.dev.order_service.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.service_support.loadbalancer.InstanceLoadTracker;
+import sn.dev.service_support.loadbalancer.LatencyAwareLoadBalancer;
+import sn.dev.service_support.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+
+/**
+ * Replaces round-robin with {@link LatencyAwareLoadBalancer} for the Feign clients, which resolve their target
+ * through Eureka. The tracker lives in the main context so all clients share it and the load balancer lifecycle
+ * (FeignBlockingLoadBalancerClient) finds it.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+
+    @Bean
+    public InstanceLoadTracker instanceLoadTracker(
+            @Value("${loadbalancer.latency-decay:PT10S}") Duration latencyDecay) {
+        return new InstanceLoadTracker(latencyDecay);
+    }
+}
@@ -1,5 +1,7 @@
 package sn.dev.order_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +18,8 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtGra
 import org.springframework.security.web.SecurityFilterChain;
 
 import lombok.RequiredArgsConstructor;
+import sn.dev.service_support.security.CachingJwtDecoder;
+import sn.dev.service_support.security.GatewayIdentityJwtDecoder;
 
 @Configuration
 @EnableWebSecurity
@@ -47,8 +51,18 @@ public class SecurityConfig {
         }
 
         @Bean
-        JwtDecoder jwtDecoder() {
-                return NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build();
+        JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+                @Value("${security.jwt.cache.max-size:10000}") int cacheMaxSize,
+                @Value("${security.internal-auth.trust-gateway-headers:false}") boolean trustGatewayHeaders,
+                @Value("${security.internal-auth.secret:}") String internalAuthSecret) {
+                // Signature is verified once per token, then served from the cache until exp
+                JwtDecoder jwtDecoder = new CachingJwtDecoder(
+                        NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build(), cacheMaxSize, meterRegistry);
+                if (trustGatewayHeaders && !internalAuthSecret.isBlank()) {
+                        // Identity already verified by the gateway, proven by its HMAC-signed X-Auth-* headers
+                        jwtDecoder = new GatewayIdentityJwtDecoder(jwtDecoder, internalAuthSecret, meterRegistry);
+                }
+                return jwtDecoder;
         }
 
         @Bean
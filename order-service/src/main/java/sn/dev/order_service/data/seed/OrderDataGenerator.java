@@ -0,0 +1,197 @@
+package sn.dev.order_service.data.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import sn.dev.order_service.data.entities.Order;
+import sn.dev.order_service.data.entities.OrderItem;
+import sn.dev.service_support.seed.GeneratorSupport;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test dataset generator, active with the "datagen" profile instead of {@link OrderSeeding}.
+ * Users and products are referenced by their generated ids and prices, no other service needs to be up.
+ * Open carts are generated apart from orders, at most one per client as {@code getCartByUserId} expects.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class OrderDataGenerator implements CommandLineRunner {
+
+    private static final String[] ORDER_STATUSES = {
+            "PENDING", "CONFIRMED", "PROCESSING", "SHIPPED", "DELIVERED", "CANCELLED"
+    };
+
+    private static final String[] PAYMENT_METHODS = {
+            "DEBIT_CARD", "PAYPAL", "WAVE", "CASH_ON_DELIVERY", "ORANGE_MONEY"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.orders:10000000}")
+    private long orderCount;
+
+    // Share of clients with an open cart
+    @Value("${datagen.cart-ratio:0.2}")
+    private double cartRatio;
+
+    @Value("${datagen.products:1000000}")
+    private long productCount;
+
+    @Value("${datagen.users.clients:80000}")
+    private long clientCount;
+
+    @Value("${datagen.users.sellers:20000}")
+    private long sellerCount;
+
+    // Fixed instead of now() so that two runs with the same seed produce the same dates
+    @Value("${datagen.reference-date:2025-01-01T00:00:00Z}")
+    private Instant referenceDate;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${datagen.drop-existing:false}")
+    private boolean dropExisting;
+
+    @Value("${datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) {
+        if (dropExisting) {
+            log.info("🧹 Suppression des commandes existantes...");
+            mongoTemplate.dropCollection(Order.class);
+        }
+
+        if (mongoTemplate.estimatedCount(Order.class) > 0) {
+            log.warn("⚠️ La collection de commandes n'est pas vide, génération ignorée (datagen.drop-existing=true pour la vider)");
+        } else {
+            generateOrders();
+            generateCarts();
+        }
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void generateOrders() {
+        log.info("🚀 Génération de {} commandes sur {} produits et {} clients (seed={}, lots de {}, {} threads)...",
+                orderCount, productCount, clientCount, seed, batchSize, threads);
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+
+        GeneratorSupport.forEachChunk("Order", orderCount, batchSize, threads, (from, to) -> {
+            SplittableRandom random = new SplittableRandom(GeneratorSupport.seedFor(seed, GeneratorSupport.ORDER, from));
+            List<Order> orders = new ArrayList<>((int) (to - from));
+            for (long i = from; i < to; i++) {
+                orders.add(createOrder(random, i));
+            }
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)
+                    .insert(orders)
+                    .execute();
+
+            long total = written.addAndGet(orders.size());
+            if (total % (batchSize * 20L) < orders.size()) {
+                log.info("📦 {}/{} commandes écrites", total, orderCount);
+            }
+        });
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("✅ {} commandes créées en {} ms ({} commandes/s)",
+                written.get(), elapsedMillis, written.get() * 1000 / elapsedMillis);
+    }
+
+    private void generateCarts() {
+        log.info("🛒 Génération des paniers ouverts ({}% des {} clients)...", Math.round(cartRatio * 100), clientCount);
+        AtomicLong written = new AtomicLong();
+
+        GeneratorSupport.forEachChunk("Cart", clientCount, batchSize, threads, (from, to) -> {
+            SplittableRandom random = new SplittableRandom(
+                    GeneratorSupport.seedFor(seed, GeneratorSupport.CART, from));
+            List<Order> carts = new ArrayList<>();
+            for (long client = from; client < to; client++) {
+                if (random.nextDouble() < cartRatio) {
+                    carts.add(createCart(random, client));
+                }
+            }
+            if (carts.isEmpty()) {
+                return;
+            }
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)
+                    .insert(carts)
+                    .execute();
+            written.addAndGet(carts.size());
+        });
+
+        log.info("✅ {} paniers créés", written.get());
+    }
+
+    private Order createOrder(SplittableRandom random, long index) {
+        Order order = new Order();
+        order.setId(GeneratorSupport.id(GeneratorSupport.ORDER, index));
+        order.setUserId(GeneratorSupport.id(GeneratorSupport.CLIENT, random.nextLong(clientCount)));
+        order.setStatus(ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)]);
+        order.setPaymentMethod(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+        order.setCreatedAt(referenceDate.minus(random.nextInt(1, 366), ChronoUnit.DAYS));
+        addItems(random, order, 5);
+        return order;
+    }
+
+    // Id derived from the client index: one cart per client whatever the chunking
+    private Order createCart(SplittableRandom random, long clientIndex) {
+        Order cart = new Order();
+        cart.setId(GeneratorSupport.id(GeneratorSupport.CART, clientIndex));
+        cart.setUserId(GeneratorSupport.id(GeneratorSupport.CLIENT, clientIndex));
+        cart.setStatus("CART");
+        cart.setCreatedAt(referenceDate.minus(random.nextInt(0, 30), ChronoUnit.DAYS));
+        addItems(random, cart, 3);
+        return cart;
+    }
+
+    private void addItems(SplittableRandom random, Order order, int maxItems) {
+        // 1-maxItems items, prix et vendeur recalculés comme dans product-service
+        int itemCount = random.nextInt(1, maxItems + 1);
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        double total = 0.0;
+        for (int i = 0; i < itemCount; i++) {
+            long productIndex = random.nextLong(productCount);
+            OrderItem item = new OrderItem();
+            item.setProductId(GeneratorSupport.id(GeneratorSupport.PRODUCT, productIndex));
+            item.setSellerId(GeneratorSupport.id(GeneratorSupport.SELLER,
+                    GeneratorSupport.productSellerIndex(seed, productIndex, sellerCount)));
+            item.setUnitPrice(GeneratorSupport.productPrice(seed, productIndex));
+            item.setQuantity(random.nextInt(1, 10));
+            items.add(item);
+            total += item.getUnitPrice() * item.getQuantity();
+        }
+
+        order.setOrderItemList(items);
+        order.setTotal(Math.round(total * 100.0) / 100.0);
+    }
+}
@@ -4,10 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import sn.dev.order_service.client.product.ProductClient;
 import sn.dev.order_service.client.user.UserClient;
+import sn.dev.order_service.web.dto.UserPageDto;
 import sn.dev.order_service.web.dto.UserResponseDto;
 import sn.dev.order_service.data.entities.OrderItem;
 import sn.dev.order_service.data.repository.OrderRepository;
@@ -22,6 +24,7 @@ import java.util.Locale;
 @Slf4j
 @Component
 @Order(3)
+@Profile("!datagen")
 @RequiredArgsConstructor
 public class OrderSeeding implements CommandLineRunner {
 
@@ -32,6 +35,7 @@ public class OrderSeeding implements CommandLineRunner {
 
     // Nombre de commandes à générer
     private static final int NUMBER_OF_ORDERS = 1000;
+    private static final int USER_PAGE_SIZE = 1000;
 
     // Statuts possibles de commande
     private static final String[] ORDER_STATUSES = {
@@ -106,7 +110,14 @@ public class OrderSeeding implements CommandLineRunner {
 
     private List<UserResponseDto> fetchUsers() {
         try {
-            List<UserResponseDto> users = userClient.getAllUsers();
+            // Annuaire paginé par curseur: pages bornées au lieu d'une seule réponse avec tous les vendeurs
+            List<UserResponseDto> users = new ArrayList<>();
+            String cursor = null;
+            do {
+                UserPageDto page = userClient.getSellerPage(cursor, USER_PAGE_SIZE);
+                users.addAll(page.getContent());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
             log.info("👥 {} utilisateurs récupérés depuis user-service", users.size());
             return users;
         } catch (Exception e) {
@@ -0,0 +1,16 @@
+package sn.dev.order_service.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the user-service seller directory, nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDto {
+    private List<UserResponseDto> content;
+    private String nextCursor;
+}
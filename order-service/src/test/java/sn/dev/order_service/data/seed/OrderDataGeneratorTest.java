@@ -0,0 +1,81 @@
+package sn.dev.order_service.data.seed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import sn.dev.order_service.data.entities.Order;
+
+public class OrderDataGeneratorTest {
+
+    private static final int FIRST = 100;
+
+    // Every document the generator inserts, sorted by id
+    private List<Order> generate(long seed, int threads) {
+        ConcurrentLinkedQueue<Order> inserted = new ConcurrentLinkedQueue<>();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class))).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenAnswer(call -> {
+            List<?> documents = call.getArgument(0);
+            documents.forEach(document -> inserted.add((Order) document));
+            return bulk;
+        });
+
+        OrderDataGenerator generator = new OrderDataGenerator(mongoTemplate,
+                mock(ConfigurableApplicationContext.class));
+        ReflectionTestUtils.setField(generator, "seed", seed);
+        ReflectionTestUtils.setField(generator, "orderCount", 3_000L);
+        ReflectionTestUtils.setField(generator, "cartRatio", 0.2);
+        ReflectionTestUtils.setField(generator, "productCount", 1_000L);
+        ReflectionTestUtils.setField(generator, "clientCount", 400L);
+        ReflectionTestUtils.setField(generator, "sellerCount", 50L);
+        ReflectionTestUtils.setField(generator, "referenceDate", Instant.parse("2025-01-01T00:00:00Z"));
+        ReflectionTestUtils.setField(generator, "batchSize", 250);
+        ReflectionTestUtils.setField(generator, "threads", threads);
+        generator.run();
+
+        return inserted.stream().sorted(Comparator.comparing(Order::getId)).toList();
+    }
+
+    @Test
+    void sameSeedGivesTheSameDocumentsWhateverTheThreads() {
+        List<Order> first = generate(42, 1);
+        List<Order> second = generate(42, 4);
+
+        assertThat(first).hasSizeGreaterThan(FIRST);
+        assertThat(second).hasSameSizeAs(first);
+        assertThat(second.subList(0, FIRST)).usingRecursiveComparison().isEqualTo(first.subList(0, FIRST));
+        assertThat(generate(43, 1).subList(0, FIRST)).usingRecursiveComparison()
+                .isNotEqualTo(first.subList(0, FIRST));
+    }
+
+    @Test
+    void eachClientHasAtMostOneCart() {
+        List<Order> documents = generate(42, 4);
+
+        List<Order> carts = documents.stream().filter(order -> "CART".equals(order.getStatus())).toList();
+        Map<String, Long> cartsPerClient = carts.stream()
+                .collect(Collectors.groupingBy(Order::getUserId, Collectors.counting()));
+        assertThat(carts).isNotEmpty();
+        assertThat(cartsPerClient.values()).containsOnly(1L);
+        assertThat(documents).hasSize(3_000 + carts.size());
+        assertThat(documents).extracting(Order::getId).doesNotHaveDuplicates();
+    }
+}
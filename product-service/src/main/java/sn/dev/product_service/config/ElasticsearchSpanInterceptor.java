@@ -0,0 +1,57 @@
+package sn.dev.product_service.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Wraps each Elasticsearch repository method in a client span, child of the current one: the Elasticsearch
+ * client records none itself. Only a span, the call is already timed by the repository metrics.
+ */
+public class ElasticsearchSpanInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final String repository;
+    private volatile Tracer tracer;
+
+    public ElasticsearchSpanInterceptor(ObjectProvider<Tracer> tracerProvider, Class<?> repositoryInterface) {
+        this.tracerProvider = tracerProvider;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    private Tracer tracer() {
+        Tracer current = tracer;
+        if (current == null) {
+            current = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+            tracer = current;
+        }
+        return current;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracer();
+        Span.Builder builder = tracer.spanBuilder()
+                .name(repository + "." + invocation.getMethod().getName())
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName("elasticsearch")
+                .tag("db.system", "elasticsearch");
+        TraceContext parent = tracer.currentTraceContext().context();
+        if (parent != null) {
+            builder.setParent(parent);
+        }
+        Span span = builder.start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package sn.dev.product_service.config;
 
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -7,8 +10,9 @@ import feign.form.spring.SpringFormEncoder;
 
 @Configuration
 public class FeignSupportConfig {
+    // Multipart bodies go through the form encoder, everything else (JSON request bodies) falls back to SpringEncoder
     @Bean
-    public SpringFormEncoder feignFormEncoder() {
-        return new SpringFormEncoder();
+    public SpringFormEncoder feignFormEncoder(ObjectFactory<HttpMessageConverters> messageConverters) {
+        return new SpringFormEncoder(new SpringEncoder(messageConverters));
     }
 }
@@ -1,9 +1,11 @@
 package sn.dev.product_service.data.repo;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import sn.dev.product_service.data.entities.Product;
 
@@ -14,4 +16,15 @@ public interface ProductRepo extends MongoRepository<Product, String> {
     List<Product> findByUserId(String userId);
 
     void deleteByUserId(String userId);
+
+    // Existence check for many ids at once, only the _id field is read back
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ '_id': 1 }")
+    List<Product> findIdsByIdIn(Collection<String> ids);
+
+    // Keyset pages of ids only, ordered by the pageable's sort
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    List<Product> findIdPage(Pageable pageable);
+
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = "{ '_id': 1 }")
+    List<Product> findIdPageAfter(String afterId, Pageable pageable);
 }
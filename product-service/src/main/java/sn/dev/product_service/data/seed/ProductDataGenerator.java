@@ -0,0 +1,134 @@
+package sn.dev.product_service.data.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.service_support.seed.GeneratorSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test dataset generator, active with the "datagen" profile instead of {@link ProductSeed}.
+ * Sellers are referenced by their generated ids, user-service does not need to be up.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class ProductDataGenerator implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.products:1000000}")
+    private long productCount;
+
+    @Value("${datagen.users.sellers:20000}")
+    private long sellerCount;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${datagen.drop-existing:false}")
+    private boolean dropExisting;
+
+    @Value("${datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) {
+        if (dropExisting) {
+            log.info("🧹 Suppression des produits existants (MongoDB et ElasticSearch)...");
+            mongoTemplate.dropCollection(Product.class);
+            IndexOperations indexOps = elasticsearchOperations.indexOps(Product.class);
+            indexOps.delete();
+            indexOps.createWithMapping();
+        }
+
+        if (mongoTemplate.estimatedCount(Product.class) > 0) {
+            log.warn("⚠️ La collection de produits n'est pas vide, génération ignorée (datagen.drop-existing=true pour la vider)");
+        } else {
+            generateProducts();
+        }
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void generateProducts() {
+        log.info("🚀 Génération de {} produits pour {} vendeurs (seed={}, lots de {}, {} threads)...",
+                productCount, sellerCount, seed, batchSize, threads);
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+
+        GeneratorSupport.forEachChunk("Product", productCount, batchSize, threads, (from, to) -> {
+            List<Product> products = generateChunk(from, to);
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)
+                    .insert(products)
+                    .execute();
+
+            List<IndexQuery> indexQueries = new ArrayList<>(products.size());
+            for (Product product : products) {
+                indexQueries.add(new IndexQueryBuilder().withId(product.getId()).withObject(product).build());
+            }
+            elasticsearchOperations.bulkIndex(indexQueries, Product.class);
+
+            long total = written.addAndGet(products.size());
+            if (total % (batchSize * 20L) < products.size()) {
+                log.info("📦 {}/{} produits écrits", total, productCount);
+            }
+        });
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("✅ {} produits créés dans MongoDB et ElasticSearch en {} ms ({} produits/s)",
+                written.get(), elapsedMillis, written.get() * 1000 / elapsedMillis);
+    }
+
+    private List<Product> generateChunk(long from, long to) {
+        // Faker seeded per chunk, the output does not depend on which thread runs it
+        Faker faker = new Faker(Locale.FRENCH, new Random(GeneratorSupport.seedFor(seed, GeneratorSupport.PRODUCT, from)));
+        List<Product> products = new ArrayList<>((int) (to - from));
+
+        for (long i = from; i < to; i++) {
+            String category = ProductSeed.getRandomCategory(faker);
+            long sellerIndex = GeneratorSupport.productSellerIndex(seed, i, sellerCount);
+
+            Product product = new Product();
+            product.setId(GeneratorSupport.id(GeneratorSupport.PRODUCT, i));
+            product.setName(ProductSeed.generateProductName(faker, category));
+            product.setDescription(faker.lorem().sentence(faker.number().numberBetween(10, 25)));
+            product.setPrice(GeneratorSupport.productPrice(seed, i));
+            product.setQuantity(faker.number().numberBetween(0, 1000));
+            product.setUserId(GeneratorSupport.id(GeneratorSupport.SELLER, sellerIndex));
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -4,13 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import sn.dev.product_service.data.entities.Product;
 import sn.dev.product_service.data.repo.ProductRepo;
 import sn.dev.product_service.data.repo.elastic.ProductSearchRepo;
 import sn.dev.product_service.services.UserServiceClient;
-import sn.dev.product_service.web.dto.UserResponse;
+import sn.dev.product_service.web.dto.UserPage;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,12 +20,15 @@ import java.util.Locale;
 @Slf4j
 @Component
 @Order(1)
+@Profile("!datagen")
 @RequiredArgsConstructor
 public class ProductSeed implements CommandLineRunner {
 
     private final ProductRepo productRepo;
     private final UserServiceClient userServiceClient;
     private final ProductSearchRepo productSearchRepo;
+    private static final int SELLER_PAGE_SIZE = 1000;
+
     private final Faker faker = new Faker(Locale.FRENCH);
 
     @Override
@@ -39,16 +43,16 @@ public class ProductSeed implements CommandLineRunner {
     }
 
     private void seedProducts() {
-        // Récupérer tous les utilisateurs depuis user-service
-        log.info("🔄 Récupération des utilisateurs depuis user-service...");
-        List<UserResponse> users;
+        // Récupérer les vendeurs page par page depuis user-service (seuls les ids sont conservés)
+        log.info("🔄 Récupération des vendeurs depuis user-service...");
+        List<String> sellerIds;
         try {
-            users = userServiceClient.getAllSeller();
-            if (users.isEmpty()) {
+            sellerIds = fetchSellerIds();
+            if (sellerIds.isEmpty()) {
                 log.warn("⚠️ Aucun utilisateur trouvé dans user-service. Veuillez démarrer user-service en premier.");
                 return;
             }
-            log.info("✅ {} utilisateurs récupérés", users.size());
+            log.info("✅ {} vendeurs récupérés", sellerIds.size());
         } catch (Exception e) {
             log.error("❌ Impossible de récupérer les utilisateurs depuis user-service: {}", e.getMessage());
             log.error("💡 Assurez-vous que user-service est démarré et accessible");
@@ -62,15 +66,14 @@ public class ProductSeed implements CommandLineRunner {
             Product product = new Product();
 
             // Catégories variées de produits
-            String category = getRandomCategory();
-            product.setName(generateProductName(category));
+            String category = getRandomCategory(faker);
+            product.setName(generateProductName(faker, category));
             product.setDescription(faker.lorem().sentence(faker.number().numberBetween(10, 25)));
             product.setPrice(faker.number().randomDouble(2, 5, 10000));
             product.setQuantity(faker.number().numberBetween(0, 1000));
 
             // Assigner un userId aléatoire parmi les utilisateurs réels
-            UserResponse randomUser = users.get(faker.number().numberBetween(0, users.size()));
-            product.setUserId(randomUser.getId());
+            product.setUserId(sellerIds.get(faker.number().numberBetween(0, sellerIds.size())));
 
             products.add(product);
         }
@@ -95,13 +98,25 @@ public class ProductSeed implements CommandLineRunner {
         log.info("💡 Les images seront créées automatiquement par media-service au démarrage");
     }
 
+    private List<String> fetchSellerIds() {
+        List<String> sellerIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserPage page = userServiceClient.getSellerPage(cursor, SELLER_PAGE_SIZE);
+            page.getContent().forEach(seller -> sellerIds.add(seller.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return sellerIds;
+    }
+
     private void reindexProductsOnElasticSearch() {
         productSearchRepo.deleteAll();
         List<Product> allProducts = productRepo.findAll();
         productSearchRepo.saveAll(allProducts);
     }
 
-    private String getRandomCategory() {
+    // Shared with ProductDataGenerator, which passes its own seeded Faker
+    static String getRandomCategory(Faker faker) {
         String[] categories = {
             "electronics", "clothing", "food", "books",
             "furniture", "sports", "beauty", "toys",
@@ -110,7 +125,7 @@ public class ProductSeed implements CommandLineRunner {
         return categories[faker.number().numberBetween(0, categories.length)];
     }
 
-    private String generateProductName(String category) {
+    static String generateProductName(Faker faker, String category) {
         return switch (category) {
             case "electronics" -> faker.options().option(
                 faker.device().modelName(),
@@ -15,11 +15,14 @@ import org.springframework.web.multipart.MultipartFile;
 import sn.dev.product_service.config.FeignSupportConfig;
 import sn.dev.product_service.data.entities.Media;
 
-@FeignClient(name = "media-service", url = "${media.service.url}", configuration = FeignSupportConfig.class)
+@FeignClient(name = "media-service", path = "/api/media", configuration = FeignSupportConfig.class)
 public interface MediaServiceClient {
     @PutMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     Media upload(@RequestPart("file") MultipartFile file, @RequestPart("productId") String productId);
 
+    @PutMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    List<Media> uploadAll(@RequestPart("files") List<MultipartFile> files, @RequestPart("productId") String productId);
+
     @GetMapping("/product/{productId}")
     ResponseEntity<List<Media>> getByProductId(@PathVariable String productId);
 
@@ -1,6 +1,8 @@
 package sn.dev.product_service.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +32,17 @@ public interface ProductService {
 
     void deleteByUserId(String userId);
 
+    /**
+     * Returns the subset of {@code ids} that belong to an existing product.
+     */
+    Set<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Returns up to {@code limit} product ids in ascending order, strictly after {@code afterId} (null for the
+     * first page).
+     */
+    List<String> findIdsAfter(String afterId, int limit);
+
     /**
      * Returns up to {@code limit} product name suggestions for the given query using search-as-you-type.
      */
@@ -3,14 +3,19 @@ package sn.dev.product_service.services;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import sn.dev.product_service.config.FeignSupportConfig;
+import sn.dev.product_service.web.dto.UserPage;
 import sn.dev.product_service.web.dto.UserResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(
         name = "user-service",
-        url = "${user.service.url}",
+        path = "/api/users",
         configuration = FeignSupportConfig.class
 )
 public interface UserServiceClient {
@@ -20,4 +25,12 @@ public interface UserServiceClient {
 
     @GetMapping("/seller")
     List<UserResponse> getAllSeller();
+
+    // Keyset page of sellers ordered by id, pass the previous page's nextCursor as "after" (max size 1000)
+    @GetMapping("/seller/page")
+    UserPage getSellerPage(@RequestParam(value = "after", required = false) String after, @RequestParam("size") int size);
+
+    // Unknown ids are simply missing from the result (max 1000 ids per call); requires an authenticated caller
+    @PostMapping("/batch")
+    List<UserResponse> getUsersByIds(@RequestBody Collection<String> ids);
 }
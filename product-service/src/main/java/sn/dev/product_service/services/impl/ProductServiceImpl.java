@@ -1,11 +1,15 @@
 package sn.dev.product_service.services.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -114,4 +118,23 @@ public class ProductServiceImpl implements ProductService {
     public void deleteByUserId(String userId) {
         productRepo.deleteByUserId(userId);
     }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        return productRepo.findIdsByIdIn(ids).stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<String> findIdsAfter(String afterId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "id"));
+        List<Product> products = afterId == null || afterId.isBlank()
+                ? productRepo.findIdPage(pageable)
+                : productRepo.findIdPageAfter(afterId, pageable);
+        return products.stream().map(Product::getId).toList();
+    }
 }
@@ -9,11 +9,13 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
 import sn.dev.product_service.web.dto.ProductCreateDTO;
+import sn.dev.product_service.web.dto.ProductIdPage;
 import sn.dev.product_service.web.dto.ProductResponseDTO;
 import sn.dev.product_service.web.dto.ProductUpdateDTO;
 
@@ -49,6 +51,16 @@ public interface ProductController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size);
 
+    // Batched existence check used by media-service to find orphaned media
+    @PostMapping("/exists")
+    java.util.Set<String> existing(@RequestBody java.util.List<String> ids);
+
+    // Every product id in keyset pages, used by media-service to seed images without offset paging
+    @GetMapping("/ids")
+    ResponseEntity<ProductIdPage> getIdPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") int size);
+
     @GetMapping("/suggest")
     java.util.List<String> suggest(@RequestParam(name = "query") String query);
 
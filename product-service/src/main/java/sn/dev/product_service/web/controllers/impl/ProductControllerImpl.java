@@ -3,6 +3,7 @@ package sn.dev.product_service.web.controllers.impl;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,9 +22,11 @@ import sn.dev.product_service.services.MediaServiceClient;
 import sn.dev.product_service.services.ProductService;
 import sn.dev.product_service.web.controllers.ProductController;
 import sn.dev.product_service.web.dto.ProductCreateDTO;
+import sn.dev.product_service.web.dto.ProductIdPage;
 import sn.dev.product_service.web.dto.ProductResponseDTO;
 import sn.dev.product_service.web.dto.ProductUpdateDTO;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ProductControllerImpl implements ProductController {
@@ -32,12 +35,14 @@ public class ProductControllerImpl implements ProductController {
     private final MediaServiceClient mediaServiceClient;
     private String maxAge = "300";
     private static final String USERIDSTR = "userID";
+    private static final int MAX_EXISTS_IDS = 1000;
+    private static final int MAX_ID_PAGE_SIZE = 1000;
 
     @Override
     public ResponseEntity<ProductResponseDTO> create(
         @Valid ProductCreateDTO productCreateDTO
     ) {
-        System.out.println("CREATE product : " + productCreateDTO);
+        log.info("CREATE product : {}", productCreateDTO);
 
         Authentication auth =
             SecurityContextHolder.getContext().getAuthentication();
@@ -47,11 +52,11 @@ public class ProductControllerImpl implements ProductController {
         Product product = productService.create(
             productCreateDTO.toProduct(userId)
         );
-        List<Media> medias = productCreateDTO
-            .getImages()
-            .stream()
-            .map(file -> mediaServiceClient.upload(file, product.getId()))
-            .toList();
+        // Upload all images in one call, media-service pushes them to storage in parallel
+        List<Media> medias = mediaServiceClient.uploadAll(
+            productCreateDTO.getImages(),
+            product.getId()
+        );
 
         return ResponseEntity.status(HttpStatus.CREATED)
             .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge)
@@ -65,12 +70,8 @@ public class ProductControllerImpl implements ProductController {
         String sortBy,
         String sortDirection
     ) {
-        System.out.println(
-            String.format(
-                "GET(getAll) products - page: %d, size: %d, sortBy: %s, direction: %s",
-                page, size, sortBy, sortDirection
-            )
-        );
+        log.info("GET(getAll) products - page: {}, size: {}, sortBy: {}, direction: {}",
+            page, size, sortBy, sortDirection);
 
         // Créer l'objet Sort
         Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC")
@@ -99,7 +100,7 @@ public class ProductControllerImpl implements ProductController {
 
     @Override
     public ResponseEntity<ProductResponseDTO> getById(String id) {
-        System.out.println("GET(product by id) product with id: " + id);
+        log.info("GET(product by id) product with id: {}", id);
 
         Product product = productService.getById(id);
         List<Media> medias = mediaServiceClient.getByProductId(id).getBody();
@@ -115,12 +116,8 @@ public class ProductControllerImpl implements ProductController {
         String sortBy,
         String sortDirection
     ) {
-        System.out.println(
-            String.format(
-                "GET(products by seller) sellerId: %s - page: %d, size: %d, sortBy: %s, direction: %s",
-                sellerId, page, size, sortBy, sortDirection
-            )
-        );
+        log.info("GET(products by seller) sellerId: {} - page: {}, size: {}, sortBy: {}, direction: {}",
+            sellerId, page, size, sortBy, sortDirection);
 
         // Créer l'objet Sort
         Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC")
@@ -155,12 +152,8 @@ public class ProductControllerImpl implements ProductController {
         int page,
         int size
     ) {
-        System.out.println(
-            String.format(
-                "SEARCH products - query: '%s', minPrice: %s, maxPrice: %s, page: %d, size: %d",
-                query, minPrice, maxPrice, page, size
-            )
-        );
+        log.info("SEARCH products - query: '{}', minPrice: {}, maxPrice: {}, page: {}, size: {}",
+            query, minPrice, maxPrice, page, size);
 
         // Créer l'objet Pageable
         Pageable pageable = PageRequest.of(page, size);
@@ -186,7 +179,7 @@ public class ProductControllerImpl implements ProductController {
         @Valid ProductUpdateDTO productUpdateDTO,
         String id
     ) {
-        System.out.println("UPDATE(product by id) product with id: " + id);
+        log.info("UPDATE(product by id) product with id: {}", id);
 
         Product product = productService.getById(id);
         Authentication auth =
@@ -211,20 +204,11 @@ public class ProductControllerImpl implements ProductController {
             productUpdateDTO.getImages() != null &&
             !productUpdateDTO.getImages().isEmpty()
         ) {
-            System.out.println(
-                "Uploading " +
-                productUpdateDTO.getImages().size() +
-                " new images for product " +
-                id
+            log.info("Uploading {} new images for product {}", productUpdateDTO.getImages().size(), id);
+            mediaServiceClient.uploadAll(
+                productUpdateDTO.getImages(),
+                updatedProduct.getId()
             );
-            productUpdateDTO
-                .getImages()
-                .forEach(file -> {
-                    System.out.println(
-                        "Uploading image: " + file.getOriginalFilename()
-                    );
-                    mediaServiceClient.upload(file, updatedProduct.getId());
-                });
         }
 
         // Get all medias (existing + newly uploaded)
@@ -239,7 +223,7 @@ public class ProductControllerImpl implements ProductController {
 
     @Override
     public ResponseEntity<Void> delete(String id) {
-        System.out.println("DELETE(product by id) product with id: " + id);
+        log.info("DELETE(product by id) product with id: {}", id);
 
         Product product = productService.getById(id);
         Authentication auth =
@@ -260,6 +244,33 @@ public class ProductControllerImpl implements ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    public java.util.Set<String> existing(List<String> ids) {
+        if (ids != null && ids.size() > MAX_EXISTS_IDS) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Too many ids (max " + MAX_EXISTS_IDS + " per request)"
+            );
+        }
+        return productService.findExistingIds(ids);
+    }
+
+    @Override
+    public ResponseEntity<ProductIdPage> getIdPage(String after, int size) {
+        if (size < 1 || size > MAX_ID_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "size must be between 1 and " + MAX_ID_PAGE_SIZE
+            );
+        }
+        // Un identifiant de plus pour savoir s'il reste une page sans requête de comptage
+        List<String> ids = productService.findIdsAfter(after, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<String> content = hasNext ? ids.subList(0, size) : ids;
+        String nextCursor = hasNext ? content.get(content.size() - 1) : null;
+        return ResponseEntity.ok(new ProductIdPage(content, nextCursor));
+    }
+
     @Override
     public java.util.List<String> suggest(String query) {
         if (query == null || query.trim().length() < 2) {
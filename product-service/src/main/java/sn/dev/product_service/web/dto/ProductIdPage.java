@@ -0,0 +1,16 @@
+package sn.dev.product_service.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// nextCursor is the id to pass as "after" for the following page, null on the last page
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductIdPage {
+    private List<String> content;
+    private String nextCursor;
+}
@@ -0,0 +1,12 @@
+package sn.dev.product_service.web.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// One page of the user-service seller directory, nextCursor is null on the last page
+@Data
+public class UserPage {
+    private List<UserResponse> content;
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package sn.dev.product_service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
@@ -120,24 +121,16 @@ public class ProductControllerTest {
 
         when(productService.create(any(Product.class))).thenReturn(savedProduct);
 
-        when(mediaServiceClient.upload(
-                any(MultipartFile.class),
-                eq("1")))
+        when(mediaServiceClient.uploadAll(anyList(), eq("1")))
                 .thenAnswer(invocation -> {
-                    MultipartFile file = invocation.getArgument(0);
-                    if (file == null) {
-                        return new Media("m0", "null-file"); // Handle null case
-                    }
-                    switch (file.getOriginalFilename()) {
-                        case null:
-                            return new Media("m0", "null-file");
-                        case "image1.png":
-                            return new Media("m1", "image1.png");
-                        case "image2.png":
-                            return new Media("m2", "image2.png");
-                        default:
-                            return new Media("mX", file.getOriginalFilename());
-                    }
+                    List<MultipartFile> files = invocation.getArgument(0);
+                    return files.stream()
+                            .map(file -> switch (file.getOriginalFilename()) {
+                                case "image1.png" -> new Media("m1", "image1.png");
+                                case "image2.png" -> new Media("m2", "image2.png");
+                                default -> new Media("mX", file.getOriginalFilename());
+                            })
+                            .toList();
                 });
         // Perform multipart request
         mockMvc.perform(
@@ -260,8 +253,8 @@ public class ProductControllerTest {
         when(productService.update(any(Product.class))).thenReturn(updatedProduct);
 
         // Mock uploading new image
-        when(mediaServiceClient.upload(any(MultipartFile.class), eq(productId)))
-                .thenReturn(new Media("m1", "new-image.png"));
+        when(mediaServiceClient.uploadAll(anyList(), eq(productId)))
+                .thenReturn(List.of(new Media("m1", "new-image.png")));
 
         // Mock returning all medias including new one
         when(mediaServiceClient.getByProductId(productId))
@@ -722,4 +715,31 @@ public class ProductControllerTest {
         System.out.println("✅ PRODUCT/CONTROLLER : testGetProductById_WithNoImages() passed successfully.");
     }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser
+    void testGetIdPage_ReturnsCursorWithoutCallingMediaService() throws Exception {
+        // One id more than the page size means another page follows
+        when(productService.findIdsAfter("p1", 3)).thenReturn(List.of("p2", "p3", "p4"));
+
+        mockMvc.perform(get("/api/products/ids").param("after", "p1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1]").value("p3"))
+                .andExpect(jsonPath("$.nextCursor").value("p3"));
+
+        when(productService.findIdsAfter("p3", 3)).thenReturn(List.of("p4"));
+
+        mockMvc.perform(get("/api/products/ids").param("after", "p3").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/products/ids").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+
+        org.mockito.Mockito.verifyNoInteractions(mediaServiceClient);
+
+        System.out.println("✅ PRODUCT/CONTROLLER : testGetIdPage_ReturnsCursorWithoutCallingMediaService() passed successfully.");
+    }
+
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -254,4 +255,21 @@ public class ProductServiceTest {
         System.out.println("✅ PRODUCT/SERVICE : testDeleteByUserId() passed successfully.");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindExistingIds() {
+        // Given
+        Product existing = new Product();
+        existing.setId("product1");
+        List<String> ids = List.of("product1", "deleted1");
+        when(productRepo.findIdsByIdIn(ids)).thenReturn(List.of(existing));
+
+        // When
+        Set<String> result = productService.findExistingIds(ids);
+
+        // Then
+        assertEquals(Set.of("product1"), result);
+
+        System.out.println("✅ PRODUCT/SERVICE : testFindExistingIds() passed successfully.");
+    }
+
+}
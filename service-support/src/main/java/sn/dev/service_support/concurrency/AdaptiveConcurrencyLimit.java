@@ -0,0 +1,126 @@
+package sn.dev.service_support.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-style adaptive concurrency limit (after Netflix's Gradient2). Request latencies are averaged over
+ * windows of at least {@code window} and {@code minWindowSamples}; each window compares that short-term RTT with
+ * a slow EWMA of it. While they agree the limit grows by about sqrt(limit), when the short-term RTT exceeds
+ * {@code tolerance} times the long-term one (requests are queueing in the database, a downstream service or on
+ * the CPU) it shrinks by up to half. Windows where less than half the limit was used carry no signal and leave the limit alone.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW_SAMPLES = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double longRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            Duration window, int minWindowSamples) {
+        this(initialLimit, minLimit, maxLimit, tolerance, window, minWindowSamples, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            Duration window, int minWindowSamples, LongSupplier clock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the current limit are in flight. Returns the admission
+     * time to pass to {@link #release}, or -1 when the request must be shed.
+     */
+    public long tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return clock.getAsLong();
+    }
+
+    public void release(long acquiredAt) {
+        release(acquiredAt, clock.getAsLong());
+    }
+
+    /**
+     * Releases a request that held its slot past its response, e.g. a stream: only {@code respondedAt -
+     * acquiredAt} counts as latency, how long a client keeps reading says nothing about queueing.
+     */
+    public void release(long acquiredAt, long respondedAt) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        long now = clock.getAsLong();
+        synchronized (this) {
+            windowRttSum += respondedAt - acquiredAt;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtEnd);
+            if (now - windowStart >= windowNanos && windowSamples >= minWindowSamples) {
+                update((double) windowRttSum / windowSamples, windowMaxInFlight);
+                windowStart = now;
+                windowRttSum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        }
+    }
+
+    private void update(double shortRttNanos, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) * 2.0 / (LONG_WINDOW_SAMPLES + 1);
+        }
+        // Latency dropped well below the baseline (e.g. after a slow start): let the baseline catch up faster
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double candidate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + candidate * SMOOTHING));
+    }
+
+    /**
+     * Current time on this limit's clock, for {@link #release(long, long)}.
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
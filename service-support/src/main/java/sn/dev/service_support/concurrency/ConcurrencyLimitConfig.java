@@ -0,0 +1,45 @@
+package sn.dev.service_support.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the {@link ConcurrencyLimitFilter} in servlet applications that set
+ * {@code concurrency-limit.enabled=true}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(MeterRegistry meterRegistry,
+            @Value("${concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${concurrency-limit.window:PT1S}") Duration window,
+            @Value("${concurrency-limit.min-window-samples:10}") int minWindowSamples,
+            @Value("${concurrency-limit.retry-after:PT1S}") Duration retryAfter,
+            @Value("${concurrency-limit.critical-paths:}") List<String> criticalPaths,
+            @Value("${concurrency-limit.sheddable-paths:}") List<String> sheddablePaths) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, rttTolerance,
+                window, minWindowSamples);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limit, criticalPaths, sheddablePaths,
+                        Math.max(1, retryAfter.toSeconds()), meterRegistry));
+        // Ahead of Spring Security: a shed request costs no JWT decoding
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,160 @@
+package sn.dev.service_support.concurrency;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits requests against an {@link AdaptiveConcurrencyLimit} before they reach security or a controller, and
+ * answers 503 + Retry-After at once when the service is saturated instead of queueing on Tomcat threads.
+ * Priorities decide who is shed first: sheddable endpoints may only use part of the limit, critical ones all of
+ * it. Rules are {@code [METHOD ]/ant/path/**}; actuator endpoints are never limited. An asynchronous request
+ * (a stream, a deferred result) keeps its slot until it completes, not just until the handler returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private enum Priority {
+        CRITICAL(1.0), NORMAL(0.9), SHEDDABLE(0.7);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String BODY =
+            "{\"error\":\"Service Unavailable\",\"message\":\"Server is at capacity, retry later.\"}";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final List<String> criticalRules;
+    private final List<String> sheddableRules;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, List<String> criticalRules,
+            List<String> sheddableRules, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.criticalRules = criticalRules;
+        this.sheddableRules = sheddableRules;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit").register(meterRegistry);
+        Gauge.builder("concurrency.limit.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return path(request).startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        long acquiredAt = limit.tryAcquire(priority.share);
+        if (acquiredAt < 0) {
+            Counter.builder("concurrency.limit.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .description("Requests shed with 503 because the concurrency limit was reached")
+                    .register(meterRegistry)
+                    .increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(acquiredAt, limit.now()));
+            } else {
+                limit.release(acquiredAt);
+            }
+        }
+    }
+
+    private Priority priorityOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = path(request);
+        if (matchesAny(criticalRules, method, path)) {
+            return Priority.CRITICAL;
+        }
+        return matchesAny(sheddableRules, method, path) ? Priority.SHEDDABLE : Priority.NORMAL;
+    }
+
+    private static boolean matchesAny(List<String> rules, String method, String path) {
+        for (String rule : rules) {
+            String pattern = rule.trim();
+            int space = pattern.indexOf(' ');
+            if (space > 0) {
+                if (!pattern.substring(0, space).equalsIgnoreCase(method)) {
+                    continue;
+                }
+                pattern = pattern.substring(space + 1).trim();
+            }
+            if (!pattern.isEmpty() && PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // The container always ends with onComplete, after a timeout or an error too
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final long acquiredAt;
+        private final long respondedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(long acquiredAt, long respondedAt) {
+            this.acquiredAt = acquiredAt;
+            this.respondedAt = respondedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(acquiredAt, respondedAt);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // A new startAsync drops the registered listeners
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
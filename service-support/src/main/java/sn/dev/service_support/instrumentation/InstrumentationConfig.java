@@ -0,0 +1,45 @@
+package sn.dev.service_support.instrumentation;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Spring Boot already times every repository method ({@code spring.data.repository.invocations}, tagged with
+ * repository and method), every Mongo command ({@code mongodb.driver.commands}) and, with feign-micrometer, every
+ * Feign method ({@code http.client.requests}, tagged with client and uri template); percentiles are set in each
+ * service's application.properties. This adds the slow-call log to the same calls.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+public class InstrumentationConfig {
+
+    @Bean
+    public SlowCallLogger slowCallLogger(
+            @Value("${instrumentation.slow-call-threshold:PT0.5S}") Duration slowCallThreshold) {
+        return new SlowCallLogger(slowCallThreshold);
+    }
+
+    // Same hook Boot uses for its repository timers; the logger is looked up lazily, when a repository is built
+    @Bean
+    public static BeanPostProcessor slowRepositoryCallListener(ObjectProvider<SlowCallLogger> slowCallLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(slowCallLogger.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package sn.dev.service_support.instrumentation;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs a WARN for every repository method (Mongo, Elasticsearch) and every outgoing HTTP call (Feign) that
+ * takes longer than the threshold. The timers themselves are Micrometer's; this only names the slow calls.
+ */
+@Slf4j
+public class SlowCallLogger implements RepositoryMethodInvocationListener,
+        ObservationHandler<RequestReplySenderContext<?, ?>> {
+
+    private static final String START = SlowCallLogger.class.getName() + ".start";
+
+    private final long thresholdNanos;
+
+    public SlowCallLogger(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long nanos = invocation.getDuration(TimeUnit.NANOSECONDS);
+        if (nanos >= thresholdNanos) {
+            log.warn("Slow repository call {}.{} took {} ms ({})", invocation.getRepositoryInterface().getSimpleName(),
+                    invocation.getMethod().getName(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                    invocation.getResult() == null ? "unknown" : invocation.getResult().getState());
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof RequestReplySenderContext<?, ?>;
+    }
+
+    @Override
+    public void onStart(RequestReplySenderContext<?, ?> context) {
+        context.put(START, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(RequestReplySenderContext<?, ?> context) {
+        Long start = context.get(START);
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        if (nanos >= thresholdNanos) {
+            log.warn("Slow remote call {} took {} ms ({})", context.getName(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                    context.getLowCardinalityKeyValues().stream()
+                            .map(keyValue -> keyValue.getKey() + "=" + keyValue.getValue())
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package sn.dev.service_support.loadbalancer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Load this application puts on each instance: requests in flight plus a peak EWMA of their latency (a slower
+ * response replaces the average at once, faster ones pull it down over {@code decay}). Fed through the
+ * load balancer lifecycle, read by {@link LatencyAwareLoadBalancer}.
+ */
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // An instance with calls in flight but no measured latency yet ranks behind every measured one
+    private static final double UNMEASURED_PENALTY = (double) (Long.MAX_VALUE >> 16);
+    // A failed call counts as at least this slow, so a broken instance is drained rather than preferred
+    private static final long FAILURE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double decayNanos;
+    private final LongSupplier clock;
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+
+    public InstanceLoadTracker(Duration decay) {
+        this(decay, System::nanoTime);
+    }
+
+    InstanceLoadTracker(Duration decay, LongSupplier clock) {
+        this.decayNanos = decay.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(clock.getAsLong());
+        }
+        load(lbResponse.getServer()).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        // DISCARD: no instance was available, nothing was started
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        InstanceLoad load = load(lbResponse.getServer());
+        load.release();
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0) {
+            long now = clock.getAsLong();
+            long latency = now - timed.getRequestStartTime();
+            if (completionContext.status() == CompletionContext.Status.FAILED) {
+                latency = Math.max(latency, FAILURE_NANOS);
+            }
+            load.observe(latency, now);
+        }
+    }
+
+    /**
+     * Releases a call that was cancelled before it completed, for callers that only report successes and errors
+     * to the lifecycle (the gateway's load balancer filter).
+     */
+    public void onCancel(ServiceInstance instance) {
+        load(instance).release();
+    }
+
+    /**
+     * Expected cost of sending one more call: latency EWMA times (in-flight calls + 1). Lower is better.
+     */
+    public double cost(ServiceInstance instance) {
+        InstanceLoad load = loads.get(key(instance));
+        return load == null ? 0 : load.cost(clock.getAsLong());
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        InstanceLoad load = loads.get(key(instance));
+        return load == null ? 0 : load.outstanding.get();
+    }
+
+    private InstanceLoad load(ServiceInstance instance) {
+        return loads.computeIfAbsent(key(instance), key -> new InstanceLoad(clock.getAsLong()));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class InstanceLoad {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewmaNanos;
+        private long stamp;
+
+        InstanceLoad(long now) {
+            this.stamp = now;
+        }
+
+        void release() {
+            outstanding.updateAndGet(current -> Math.max(0, current - 1));
+        }
+
+        synchronized void observe(long latencyNanos, long now) {
+            double weight = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            stamp = now;
+            ewmaNanos = latencyNanos > ewmaNanos ? latencyNanos : ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+
+        synchronized double cost(long now) {
+            int inFlight = outstanding.get();
+            if (ewmaNanos == 0) {
+                return inFlight == 0 ? 0 : UNMEASURED_PENALTY + inFlight;
+            }
+            // Idle instances drift back towards zero so a past spike is eventually retried
+            double decayed = ewmaNanos * Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            return decayed * (inFlight + 1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package sn.dev.service_support.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps successfully decoded tokens until their {@code exp}, keyed by the SHA-256 of the token, so the RSA
+ * signature of a given token is verified once per node instead of on every request. Failures are not cached.
+ * Bounded to {@code maxSize} entries: when full, the least valuable entry (Caffeine's W-TinyLFU) makes room.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, MeterRegistry meterRegistry) {
+        this(delegate, maxSize, meterRegistry, ForkJoinPool.commonPool());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxSize, MeterRegistry meterRegistry, Executor executor) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, Jwt jwt) -> remainingLifetime(jwt)))
+                .executor(executor)
+                .build();
+        this.hits = Counter.builder("jwt.decoder.cache").tag("result", "hit")
+                .description("Verified JWT cache lookups").register(meterRegistry);
+        this.misses = Counter.builder("jwt.decoder.cache").tag("result", "miss")
+                .description("Verified JWT cache lookups").register(meterRegistry);
+        Gauge.builder("jwt.decoder.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = sha256(token);
+        Jwt cached = cache.getIfPresent(key);
+        // Expiry runs on the cache's ticker; exp itself is checked too so a token is never served past it
+        if (cached != null && Instant.now().isBefore(cached.getExpiresAt())) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        // Throws for an invalid or expired token, nothing is cached in that case
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static Duration remainingLifetime(Jwt jwt) {
+        Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package sn.dev.service_support.security;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(DelegatingSecurityContextRunnable.class)
+public class TaskExecutionConfig {
+
+    /**
+     * Picked up by Spring Boot's application task executor ({@code @Async}, async MVC handlers), with platform
+     * or virtual threads alike: the task runs with the SecurityContext of the thread that submitted it. The
+     * context lives in a ThreadLocal, which a freshly started (virtual) thread does not inherit.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
@@ -0,0 +1,95 @@
+package sn.dev.service_support.seed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for the "datagen" profile generators. Every service derives ids and shared fields (product price,
+ * product seller) from here, so they line up across databases without any service calling another.
+ */
+public final class GeneratorSupport {
+
+    public static final int CLIENT = 1;
+    public static final int SELLER = 2;
+    public static final int PRODUCT = 3;
+    public static final int ORDER = 4;
+    public static final int MEDIA = 5;
+    // One per client at most: the id is derived from the client index
+    public static final int CART = 6;
+
+    // Salts for the per-product fields that other services need to recompute
+    private static final int PRODUCT_PRICE = 101;
+    private static final int PRODUCT_SELLER = 102;
+
+    // 2024-01-01T00:00:00Z, timestamp part of every generated ObjectId
+    private static final long EPOCH_SECONDS = 1_704_067_200L;
+
+    private GeneratorSupport() {
+    }
+
+    /**
+     * Valid ObjectId hex string: fixed timestamp, one byte for the entity kind, then the index.
+     */
+    public static String id(int kind, long index) {
+        return String.format("%08x%02x%014x", EPOCH_SECONDS, kind, index);
+    }
+
+    public static long seedFor(long seed, int kind, long index) {
+        return mix(mix(seed + kind) + index);
+    }
+
+    public static double productPrice(long seed, long productIndex) {
+        SplittableRandom random = new SplittableRandom(seedFor(seed, PRODUCT_PRICE, productIndex));
+        return Math.round((5 + random.nextDouble() * 9995) * 100) / 100.0;
+    }
+
+    public static long productSellerIndex(long seed, long productIndex, long sellers) {
+        return new SplittableRandom(seedFor(seed, PRODUCT_SELLER, productIndex)).nextLong(sellers);
+    }
+
+    /**
+     * Splits [0, total) into chunks of batchSize and runs them on a fixed pool. Chunks only depend on the
+     * seed and their bounds, so the generated data is the same whatever the number of threads.
+     */
+    public static void forEachChunk(String label, long total, int batchSize, int threads, ChunkTask task) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0; from < total; from += batchSize) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(total, from + batchSize);
+                futures.add(pool.submit(() -> {
+                    task.run(chunkFrom, chunkTo);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(label + " generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(label + " generation interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChunkTask {
+        void run(long from, long to);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,101 @@
+package sn.dev.service_support.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Appends finished spans to a local file, one Zipkin v2 JSON span per line, so traces can be read without a
+ * collector ({@code jq}) or loaded into a local Zipkin ({@code jq -s .} then POST to {@code /api/v2/spans}).
+ */
+public class SpanFileExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BufferedWriter writer;
+
+    public SpanFileExporter(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toZipkin(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
+    }
+
+    static Map<String, Object> toZipkin(SpanData span) {
+        Map<String, Object> zipkin = new LinkedHashMap<>();
+        zipkin.put("traceId", span.getTraceId());
+        zipkin.put("id", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            zipkin.put("parentId", span.getParentSpanId());
+        }
+        zipkin.put("name", span.getName());
+        if (span.getKind() != SpanKind.INTERNAL) {
+            zipkin.put("kind", span.getKind().name());
+        }
+        zipkin.put("timestamp", TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
+        long durationNanos = span.getEndEpochNanos() - span.getStartEpochNanos();
+        zipkin.put("duration", Math.max(1, TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+        String serviceName = span.getResource().getAttribute(SERVICE_NAME);
+        zipkin.put("localEndpoint", Map.of("serviceName", serviceName == null ? "unknown" : serviceName));
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+            String description = span.getStatus().getDescription();
+            tags.put("error", description.isEmpty() ? "true" : description);
+        }
+        zipkin.put("tags", tags);
+        return zipkin;
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package sn.dev.service_support.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitConfigTest {
+
+    // As SpringApplication does, so that "PT1S" binds to a Duration
+    private final WebApplicationContextRunner servlet = new WebApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(ConcurrencyLimitConfig.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void filterIsRegisteredOnlyWhenEnabled() {
+        servlet.run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+        servlet.withPropertyValues("concurrency-limit.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+        servlet.withPropertyValues("concurrency-limit.enabled=true",
+                "concurrency-limit.sheddable-paths=GET /api/products")
+                .run(context -> assertThat(context).hasSingleBean(FilterRegistrationBean.class));
+    }
+
+    @Test
+    void reactiveApplicationsAreLeftAlone() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConcurrencyLimitConfig.class))
+                .withPropertyValues("concurrency-limit.enabled=true")
+                .run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+    }
+}
@@ -0,0 +1,105 @@
+package sn.dev.service_support.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ConcurrencyLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimit limit(int initialLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, 2, 100, 1.5, Duration.ofSeconds(1), 5, clock::get);
+    }
+
+    // One window (millis >= 1s) of `concurrency` overlapping requests that each take `millis`
+    private void window(AdaptiveConcurrencyLimit limit, int concurrency, long millis) {
+        List<Long> admitted = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            admitted.add(limit.tryAcquire(1.0));
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        admitted.forEach(limit::release);
+    }
+
+    private MockHttpServletResponse call(ConcurrencyLimitFilter filter, String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+        AdaptiveConcurrencyLimit limit = limit(20);
+        for (int i = 0; i < 5; i++) {
+            window(limit, limit.getLimit(), 1000);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit should grow, was " + grown);
+
+        for (int i = 0; i < 5; i++) {
+            window(limit, limit.getLimit(), 5000);
+        }
+        assertTrue(limit.getLimit() < grown, "limit should shrink, was " + limit.getLimit());
+    }
+
+    @Test
+    void sheddableRequestsAreRejectedBeforeCriticalOnes() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(10);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, List.of("POST /api/products"),
+                List.of("GET /api/products/search"), 2, meterRegistry);
+        // 7 in flight: sheddable traffic may only use 70% of the limit of 10
+        for (int i = 0; i < 7; i++) {
+            limit.tryAcquire(1.0);
+        }
+
+        MockHttpServletResponse search = call(filter, "GET", "/api/products/search");
+        assertEquals(503, search.getStatus());
+        assertEquals("2", search.getHeader("Retry-After"));
+        assertEquals(200, call(filter, "GET", "/api/products/p1").getStatus());
+        assertEquals(200, call(filter, "POST", "/api/products").getStatus());
+        assertEquals(1.0, meterRegistry.get("concurrency.limit.rejected").tag("priority", "sheddable")
+                .counter().count());
+        assertEquals(7, limit.getInFlight());
+    }
+
+    @Test
+    void asyncRequestKeepsItsSlotUntilComplete() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(10);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, List.of(), List.of(), 1, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/seller/stream");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertEquals(1, limit.getInFlight());
+
+        request.getAsyncContext().complete();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void actuatorIsNeverShed() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, List.of(), List.of(), 1, meterRegistry);
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+
+        assertEquals(503, call(filter, "GET", "/api/products/p1").getStatus());
+        assertEquals(200, call(filter, "GET", "/actuator/health").getStatus());
+        assertEquals(2.0, meterRegistry.get("concurrency.limit").gauge().value());
+    }
+}
@@ -0,0 +1,70 @@
+package sn.dev.service_support.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+
+public class SlowCallLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowCallLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void captureLogs() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void releaseLogs() {
+        logger.detachAppender(appender);
+    }
+
+    private List<String> remoteCall(Duration threshold, long millis) throws InterruptedException {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new SlowCallLogger(threshold));
+        Observation observation = Observation.createNotStarted("http.client.requests",
+                () -> new RequestReplySenderContext<Object, Object>((carrier, key, value) -> { }), registry)
+                .lowCardinalityKeyValue("client.name", "user-service")
+                .start();
+        Thread.sleep(millis);
+        observation.stop();
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    void remoteCallsOverTheThresholdAreLogged() throws Exception {
+        List<String> messages = remoteCall(Duration.ofMillis(10), 30);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).startsWith("Slow remote call http.client.requests took"));
+        assertTrue(messages.get(0).contains("client.name=user-service"));
+    }
+
+    @Test
+    void fastRemoteCallsAreNotLogged() throws Exception {
+        assertTrue(remoteCall(Duration.ofSeconds(5), 0).isEmpty());
+    }
+
+    @Test
+    void onlyOutgoingCallsAreHandled() {
+        SlowCallLogger slowCallLogger = new SlowCallLogger(Duration.ZERO);
+
+        assertFalse(slowCallLogger.supportsContext(new Observation.Context()));
+    }
+}
@@ -0,0 +1,94 @@
+package sn.dev.service_support.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+class LatencyAwareLoadBalancerTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(Duration.ofSeconds(10), clock::get);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(null, tracker);
+
+    private final ServiceInstance fast = new DefaultServiceInstance("p-1", "product-service", "10.0.0.1", 8082, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("p-2", "product-service", "10.0.0.2", 8082, false);
+
+    private Request<Object> start(ServiceInstance instance) {
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        tracker.onStartRequest(request, new DefaultResponse(instance));
+        return request;
+    }
+
+    private void complete(Request<Object> request, ServiceInstance instance, CompletionContext.Status status) {
+        tracker.onComplete(new CompletionContext<>(status, request, new DefaultResponse(instance)));
+    }
+
+    private void call(ServiceInstance instance, long millis) {
+        Request<Object> request = start(instance);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        complete(request, instance, CompletionContext.Status.SUCCESS);
+    }
+
+    @Test
+    void slowerInstanceLosesEveryPairwiseChoice() {
+        call(fast, 10);
+        call(slow, 200);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.choose(List.of(fast, slow)).getServer());
+        }
+    }
+
+    @Test
+    void callsInFlightOutweighALowerLatency() {
+        call(fast, 10);
+        call(slow, 40);
+        for (int i = 0; i < 10; i++) {
+            start(fast);
+        }
+
+        assertEquals(10, tracker.outstanding(fast));
+        assertEquals(slow, loadBalancer.choose(List.of(fast, slow)).getServer());
+    }
+
+    @Test
+    void failedCallsDrainAnInstance() {
+        Request<Object> failed = start(slow);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        complete(failed, slow, CompletionContext.Status.FAILED);
+
+        call(fast, 50);
+        assertEquals(fast, loadBalancer.choose(List.of(fast, slow)).getServer());
+        assertEquals(0, tracker.outstanding(slow));
+    }
+
+    @Test
+    void failuresCountAsSlowAndCancelledCallsAreReleased() {
+        Request<Object> failed = start(slow);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        complete(failed, slow, CompletionContext.Status.FAILED);
+        assertTrue(tracker.cost(slow) >= TimeUnit.SECONDS.toNanos(1));
+
+        start(fast);
+        tracker.onCancel(fast);
+        assertEquals(0, tracker.outstanding(fast));
+
+        // A peak fades once the instance has been left alone for a while
+        double peak = tracker.cost(slow);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(tracker.cost(slow) < peak / 10);
+    }
+}
@@ -0,0 +1,93 @@
+package sn.dev.service_support.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingJwtDecoderTest {
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Maintenance (eviction) on the calling thread, so sizes are exact
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, meterRegistry, Runnable::run);
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("userID", "user-123")
+                .issuedAt(expiresAt.minusSeconds(7200))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void testValidTokenIsVerifiedOnce() {
+        Jwt jwt = jwt("token-a", Instant.now().plusSeconds(3600));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        assertSame(jwt, decoder.decode("token-a"));
+        assertSame(jwt, decoder.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals(1.0, meterRegistry.get("jwt.decoder.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.decoder.cache").tag("result", "miss").counter().count());
+
+        System.out.println("✅ JWT : testValidTokenIsVerifiedOnce() passed successfully.");
+    }
+
+    @Test
+    void testExpiredEntryGoesBackToDelegate() {
+        when(delegate.decode("token-b"))
+                .thenReturn(jwt("token-b", Instant.now().minusSeconds(1)))
+                .thenThrow(new BadJwtException("expired"));
+
+        decoder.decode("token-b");
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-b"));
+        verify(delegate, times(2)).decode("token-b");
+
+        System.out.println("✅ JWT : testExpiredEntryGoesBackToDelegate() passed successfully.");
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        verify(delegate, times(2)).decode("bad");
+
+        System.out.println("✅ JWT : testInvalidTokenIsNotCached() passed successfully.");
+    }
+
+    @Test
+    void testFullCacheEvictsInsteadOfRefusingNewTokens() {
+        SimpleMeterRegistry smallRegistry = new SimpleMeterRegistry();
+        CachingJwtDecoder small = new CachingJwtDecoder(delegate, 5, smallRegistry, Runnable::run);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(delegate.decode(anyString())).thenAnswer(call -> jwt(call.getArgument(0), expiresAt));
+
+        for (int i = 0; i < 50; i++) {
+            small.decode("token-" + i);
+        }
+        small.decode("token-49");
+
+        verify(delegate, times(1)).decode("token-49");
+        assertEquals(5.0, smallRegistry.get("jwt.decoder.cache.size").gauge().value());
+
+        System.out.println("✅ JWT : testFullCacheEvictsInsteadOfRefusingNewTokens() passed successfully.");
+    }
+}
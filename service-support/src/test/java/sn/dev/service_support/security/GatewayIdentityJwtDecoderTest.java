@@ -0,0 +1,94 @@
+package sn.dev.service_support.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class GatewayIdentityJwtDecoderTest {
+
+    private static final String SECRET = "internal-secret";
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final GatewayIdentityJwtDecoder decoder =
+            new GatewayIdentityJwtDecoder(delegate, SECRET, new SimpleMeterRegistry());
+
+    private final long expires = Instant.now().plusSeconds(3600).getEpochSecond();
+    private final String token = token(expires);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static String token(long expires) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"userID\":\"user-1\",\"authorities\":\"SELLER\",\"exp\":" + expires + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".c2lnbmF0dXJl";
+    }
+
+    // Same construction as the gateway's InternalIdentitySigner
+    private static String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void gatewayRequest(String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Auth-User-Id", "user-1");
+        request.addHeader("X-Auth-Authorities", "SELLER");
+        request.addHeader("X-Auth-Expires", String.valueOf(expires));
+        request.addHeader("X-Auth-Signature", signature);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    void testSignedGatewayHeadersSkipSignatureVerification() throws Exception {
+        String tokenHash = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        gatewayRequest(sign("user-1\nSELLER\n" + expires + "\n" + tokenHash));
+
+        Jwt jwt = decoder.decode(token);
+
+        assertEquals("user-1", jwt.getClaimAsString("userID"));
+        assertEquals(Instant.ofEpochSecond(expires), jwt.getExpiresAt());
+        verify(delegate, never()).decode(anyString());
+
+        System.out.println("✅ PRODUCT/JWT : testSignedGatewayHeadersSkipSignatureVerification() passed successfully.");
+    }
+
+    @Test
+    void testForgedHeadersFallBackToVerification() throws Exception {
+        Jwt verified = Jwt.withTokenValue(token).header("alg", "RS256").claim("userID", "user-1").build();
+        when(delegate.decode(token)).thenReturn(verified);
+        gatewayRequest(sign("user-1\nSELLER\n" + expires + "\nanother-token-hash"));
+
+        assertEquals(verified, decoder.decode(token));
+        verify(delegate).decode(token);
+
+        System.out.println("✅ PRODUCT/JWT : testForgedHeadersFallBackToVerification() passed successfully.");
+    }
+}
@@ -0,0 +1,61 @@
+package sn.dev.service_support.security;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+
+public class VirtualThreadSecurityContextTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // What spring.threads.virtual.enabled gives the application task executor
+    private SimpleAsyncTaskExecutor virtualExecutor(boolean withDecorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("test-");
+        executor.setVirtualThreads(true);
+        if (withDecorator) {
+            executor.setTaskDecorator(new TaskExecutionConfig().securityContextTaskDecorator());
+        }
+        return executor;
+    }
+
+    private Authentication seenBy(SimpleAsyncTaskExecutor executor) throws Exception {
+        CompletableFuture<Authentication> seen = new CompletableFuture<>();
+        executor.execute(() -> seen.complete(SecurityContextHolder.getContext().getAuthentication()));
+        return seen.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void asyncTasksOnVirtualThreadsRunAsTheCaller() throws Exception {
+        Authentication caller = new TestingAuthenticationToken("user-1", null, "CLIENT");
+        SecurityContextHolder.getContext().setAuthentication(caller);
+
+        assertSame(caller, seenBy(virtualExecutor(true)));
+        // A new virtual thread starts with an empty ThreadLocal: without the decorator the caller is lost
+        assertNull(seenBy(virtualExecutor(false)));
+    }
+
+    @Test
+    void requestsOnSeparateVirtualThreadsDoNotShareAContext() throws Exception {
+        // Tomcat's virtual-thread executor starts one thread per request, as here
+        Thread first = Thread.ofVirtual().start(() -> SecurityContextHolder.getContext()
+                .setAuthentication(new TestingAuthenticationToken("user-1", null)));
+        first.join();
+        CompletableFuture<Authentication> second = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> second.complete(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertNull(second.get(5, TimeUnit.SECONDS));
+    }
+}
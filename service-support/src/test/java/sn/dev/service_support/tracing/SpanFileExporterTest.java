@@ -0,0 +1,90 @@
+package sn.dev.service_support.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class SpanFileExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<JsonNode> spans(Path file) throws Exception {
+        return Files.readAllLines(file).stream().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(line, e);
+            }
+        }).toList();
+    }
+
+    @Test
+    void spansAreAppendedAsZipkinJsonLines() throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "api-gateway")))
+                .addSpanProcessor(SimpleSpanProcessor.create(new SpanFileExporter(file)))
+                .build()) {
+            Tracer tracer = tracerProvider.get("test");
+            Span request = tracer.spanBuilder("http get").setSpanKind(SpanKind.SERVER).startSpan();
+            try (Scope scope = request.makeCurrent()) {
+                Span routed = tracer.spanBuilder("http.client.requests").setSpanKind(SpanKind.CLIENT)
+                        .setAttribute("http.status_code", 504).startSpan();
+                routed.setStatus(StatusCode.ERROR, "Gateway Timeout");
+                routed.end();
+            }
+            request.end();
+        }
+
+        List<JsonNode> spans = spans(file);
+        assertEquals(2, spans.size());
+        JsonNode routed = spans.get(0);
+        JsonNode request = spans.get(1);
+        assertEquals(request.path("traceId").asText(), routed.path("traceId").asText());
+        assertEquals(request.path("id").asText(), routed.path("parentId").asText());
+        assertFalse(request.has("parentId"));
+        assertEquals("CLIENT", routed.path("kind").asText());
+        assertEquals("api-gateway", routed.path("localEndpoint").path("serviceName").asText());
+        assertEquals("504", routed.path("tags").path("http.status_code").asText());
+        assertEquals("Gateway Timeout", routed.path("tags").path("error").asText());
+        assertTrue(routed.path("duration").asLong() >= 1);
+    }
+
+    @Test
+    void laterRunsAppendToTheSameFile() throws Exception {
+        Path file = dir.resolve("spans.jsonl");
+        for (int run = 0; run < 2; run++) {
+            try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(new SpanFileExporter(file)))
+                    .build()) {
+                tracerProvider.get("test").spanBuilder("run").startSpan().end();
+            }
+        }
+
+        assertEquals(2, spans(file).size());
+    }
+}
@@ -0,0 +1,36 @@
+package sn.dev.user_service.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import sn.dev.user_service.data.entities.User;
+
+/**
+ * Creates the role_id index (role equality, then _id order) behind role filters and the keyset-paginated seller
+ * directory, before the seeders run. Index auto-creation stays off: it would also build the unique email index
+ * declared on User, and fail at startup on a database that already holds duplicate emails.
+ */
+@Slf4j
+@Component
+@Order(0)
+@AllArgsConstructor
+public class MongoIndexConfig implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    public static Index roleIdIndex() {
+        return new Index("role", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("role_id");
+    }
+
+    @Override
+    public void run(String... args) {
+        // No-op when the index already exists with the same definition
+        String name = mongoTemplate.indexOps(User.class).createIndex(roleIdIndex());
+        log.info("Index {} ready on users", name);
+    }
+}
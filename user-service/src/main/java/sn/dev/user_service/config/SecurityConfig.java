@@ -6,7 +6,9 @@ import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,6 +21,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +34,11 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
+import sn.dev.service_support.security.CachingJwtDecoder;
+import sn.dev.service_support.security.GatewayIdentityJwtDecoder;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -54,7 +63,10 @@ public class SecurityConfig {
                         .requestMatchers(
                                 HttpMethod.GET,
                                 "/api/users",
-                                "/api/users/seller"
+                                "/api/users/seller",
+                                "/api/users/seller/page",
+                                "/api/users/seller/stream",
+                                "/api/users/seller/{id}"
                         ).permitAll()
                         .requestMatchers(
                                 HttpMethod.GET,
@@ -64,7 +76,10 @@ public class SecurityConfig {
                         ).authenticated()
                         .requestMatchers(
                                 HttpMethod.POST,
-                                "/api/products"
+                                "/api/products",
+                                // Bulk lookup (name, email, role, avatar of up to 1000 users): callers forward a
+                                // user token or a gateway-signed one, anonymous traffic is refused
+                                "/api/users/batch"
                         ).authenticated()
                         .requestMatchers(
                                 HttpMethod.PUT,
@@ -90,20 +105,43 @@ public class SecurityConfig {
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${user.password.bcrypt-strength:12}") int strength,
+            @Value("${user.password-hashing.threads:0}") int threads,
+            @Value("${user.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${user.password-hashing.max-wait:PT2S}") Duration maxWait,
+            @Value("${user.password-hashing.retry-after:PT1S}") Duration retryAfter) {
+        // BCrypt is CPU bound: one hashing thread per core unless configured otherwise
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity,
+                maxWait, retryAfter, meterRegistry);
     }
 
     @Bean
-    AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
+    AuthenticationManager authenticationManager(UserDetailsService userDetailsService, UserCache userCache,
+            PasswordEncoder passwordEncoder, UserDetailsPasswordService userDetailsPasswordService) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserCache(userCache);
+        // Rehash on login when the stored hash is weaker than user.password.bcrypt-strength
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return new ProviderManager(authProvider);
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build();
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${security.jwt.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${security.internal-auth.trust-gateway-headers:false}") boolean trustGatewayHeaders,
+            @Value("${security.internal-auth.secret:}") String internalAuthSecret) {
+        // Signature is verified once per token, then served from the cache until exp
+        JwtDecoder jwtDecoder = new CachingJwtDecoder(
+                NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build(), cacheMaxSize, meterRegistry);
+        if (trustGatewayHeaders && !internalAuthSecret.isBlank()) {
+            // Identity already verified by the gateway, proven by its HMAC-signed X-Auth-* headers
+            jwtDecoder = new GatewayIdentityJwtDecoder(jwtDecoder, internalAuthSecret, meterRegistry);
+        }
+        return jwtDecoder;
     }
 
     @Bean
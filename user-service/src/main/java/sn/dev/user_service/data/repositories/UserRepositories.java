@@ -1,10 +1,15 @@
 package sn.dev.user_service.data.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import sn.dev.user_service.data.entities.Role;
 import sn.dev.user_service.data.entities.User;
 
@@ -13,4 +18,27 @@ public interface UserRepositories extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     List<User> findAllByRole(Role role);
+
+    // Same lookup as findAllById, but the password hash never leaves the database
+    @RestResource(exported = false)
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'password': 0 }")
+    List<User> findAllWithoutPasswordByIdIn(Collection<String> ids);
+
+    @RestResource(exported = false)
+    @Query(value = "{ '_id': ?0, 'role': ?1 }", fields = "{ 'password': 0 }")
+    Optional<User> findWithoutPasswordByIdAndRole(String id, Role role);
+
+    // Keyset pages over the role_id index: the caller passes a limit sorted by id, no count query is issued
+    @RestResource(exported = false)
+    @Query(value = "{ 'role': ?0 }", fields = "{ 'password': 0 }")
+    List<User> findPageByRole(Role role, Pageable pageable);
+
+    @RestResource(exported = false)
+    @Query(value = "{ 'role': ?0, '_id': { $gt: ?1 } }", fields = "{ 'password': 0 }")
+    List<User> findPageByRoleAfterId(Role role, String afterId, Pageable pageable);
+
+    // Cursor-backed, must be closed by the caller
+    @RestResource(exported = false)
+    @Query(value = "{ 'role': ?0 }", fields = "{ 'password': 0 }", sort = "{ '_id': 1 }")
+    Stream<User> streamByRole(Role role);
 }
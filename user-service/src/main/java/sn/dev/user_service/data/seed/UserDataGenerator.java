@@ -0,0 +1,127 @@
+package sn.dev.user_service.data.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import sn.dev.user_service.data.entities.Role;
+import sn.dev.user_service.config.MongoIndexConfig;
+import sn.dev.user_service.data.entities.User;
+import sn.dev.service_support.seed.GeneratorSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test dataset generator, active with the "datagen" profile instead of {@link UserSeeding}.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class UserDataGenerator implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.users.clients:80000}")
+    private long clientCount;
+
+    @Value("${datagen.users.sellers:20000}")
+    private long sellerCount;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${datagen.drop-existing:false}")
+    private boolean dropExisting;
+
+    @Value("${datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) {
+        if (dropExisting) {
+            log.info("🧹 Suppression des utilisateurs existants...");
+            mongoTemplate.dropCollection(User.class);
+            mongoTemplate.indexOps(User.class).createIndex(new Index("email", Sort.Direction.ASC).unique());
+            mongoTemplate.indexOps(User.class).createIndex(MongoIndexConfig.roleIdIndex());
+        }
+
+        if (mongoTemplate.estimatedCount(User.class) > 0) {
+            log.warn("⚠️ La collection d'utilisateurs n'est pas vide, génération ignorée (datagen.drop-existing=true pour la vider)");
+        } else {
+            // BCrypt(12) coûte ~250 ms par appel: un seul hash partagé par tous les comptes générés
+            String password = passwordEncoder.encode("password123");
+            generateUsers(Role.CLIENT, GeneratorSupport.CLIENT, clientCount, password);
+            generateUsers(Role.SELLER, GeneratorSupport.SELLER, sellerCount, password);
+        }
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void generateUsers(Role role, int kind, long count, String password) {
+        log.info("🚀 Génération de {} utilisateurs {} (seed={}, lots de {}, {} threads)...",
+                count, role, seed, batchSize, threads);
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+
+        GeneratorSupport.forEachChunk(role.name(), count, batchSize, threads, (from, to) -> {
+            Faker faker = new Faker(Locale.FRENCH, new Random(GeneratorSupport.seedFor(seed, kind, from)));
+            List<User> users = new ArrayList<>((int) (to - from));
+            for (long i = from; i < to; i++) {
+                users.add(createUser(faker, role, kind, i, password));
+            }
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(users)
+                    .execute();
+            written.addAndGet(users.size());
+        });
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("✅ {} utilisateurs {} créés en {} ms ({} utilisateurs/s)",
+                written.get(), role, elapsedMillis, written.get() * 1000 / elapsedMillis);
+    }
+
+    private User createUser(Faker faker, Role role, int kind, long index, String password) {
+        String firstName = faker.name().firstName();
+        String lastName = faker.name().lastName();
+
+        User user = new User();
+        user.setId(GeneratorSupport.id(kind, index));
+        user.setName(firstName + " " + lastName);
+        // Le rôle et l'index garantissent l'unicité de l'email
+        user.setEmail(firstName.toLowerCase().replaceAll("[^a-z]", "")
+                + "." + lastName.toLowerCase().replaceAll("[^a-z]", "")
+                + "." + role.name().toLowerCase() + index
+                + "@" + faker.internet().domainName());
+        user.setPassword(password);
+        user.setRole(role);
+        user.setAvatar(String.format("https://picsum.photos/seed/%s%d/400/400", role.name().toLowerCase(), index));
+        return user;
+    }
+}
@@ -0,0 +1,16 @@
+package sn.dev.user_service.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing pool is saturated, mapped to 503 with a Retry-After header.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Too many concurrent login or registration requests, retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,15 +3,30 @@ package sn.dev.user_service.services;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface UserServices {
-    String login(User user);
+    // Authenticates with a single user lookup, the resulting principal feeds both the token and the response
+    LoginResponse login(User user);
     User findByEmail(String email);
     User findById(String id);
     List<User> findAllSeller();
+    // Empty for unknown ids and for users who are not sellers, the returned user carries no password
+    Optional<User> findSellerById(String id);
+    // Sellers ordered by id, strictly after the given id (null for the first page), without password
+    List<User> findSellersAfter(String afterId, int size);
+    // Every seller ordered by id, without password; the stream holds a database cursor and must be closed
+    Stream<User> streamSellers();
+    // Unknown ids are skipped, the returned users carry no password
+    List<User> findAllByIds(Collection<String> ids);
     Page<User> findAllUsers(Pageable pageable);
+    // Only the given User fields are read from Mongo (the password is never included)
+    Page<User> findAllUsers(Pageable pageable, Collection<String> fields);
     User createUser(User user);
 }
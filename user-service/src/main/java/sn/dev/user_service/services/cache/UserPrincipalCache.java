@@ -0,0 +1,67 @@
+package sn.dev.user_service.services.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of login principals keyed by email, plugged into the DaoAuthenticationProvider.
+ * A cached principal whose password does not match is reloaded from Mongo by the provider,
+ * and {@code UserEvents} evicts entries when a user is updated or deleted.
+ */
+@Component
+public class UserPrincipalCache implements UserCache {
+
+    private record Entry(UserDetails user, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public UserPrincipalCache(@Value("${user.principal-cache.ttl:PT60S}") Duration ttl,
+            @Value("${user.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String email) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(email, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (entries.size() >= maxSize) {
+                // Full of live entries: skip caching rather than grow past the bound
+                return;
+            }
+        }
+        entries.put(user.getUsername(), new Entry(user, System.nanoTime() + ttlNanos));
+    }
+
+    @Override
+    public void removeUserFromCache(String email) {
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+}
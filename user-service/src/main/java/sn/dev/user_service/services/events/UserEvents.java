@@ -1,6 +1,8 @@
 package sn.dev.user_service.services.events;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
 import org.springframework.data.rest.core.annotation.HandleBeforeCreate;
 import org.springframework.data.rest.core.annotation.HandleBeforeDelete;
 import org.springframework.data.rest.core.annotation.HandleBeforeSave;
@@ -15,6 +17,7 @@ import sn.dev.user_service.data.repositories.UserRepositories;
 import sn.dev.user_service.exceptions.ForbiddenException;
 import sn.dev.user_service.exceptions.InvalidRequestDataException;
 import sn.dev.user_service.exceptions.UserAlreadyExistsException;
+import sn.dev.user_service.services.cache.UserPrincipalCache;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -26,6 +29,7 @@ import java.util.regex.Pattern;
 public class UserEvents {
     private final PasswordEncoder passwordEncoder;
     private final UserRepositories userRepositories;
+    private final UserPrincipalCache userPrincipalCache;
 
     @HandleBeforeCreate
     public void handleUserCreate(User user) throws Exception {
@@ -52,7 +56,11 @@ public class UserEvents {
         // On récupère l'état actuel de l'utilisateur dans la base de données
         // pour obtenir l'ancien mot de passe (qui est déjà haché).
         userRepositories.findById(user.getId())
-                .map(User::getPassword)
+                .map(current -> {
+                    // L'email a pu changer: on invalide aussi l'ancienne entrée du cache de login
+                    userPrincipalCache.removeUserFromCache(current.getEmail());
+                    return current.getPassword();
+                })
                 .ifPresent(currentPasswordHash -> {
                     // On vérifie si le mot de passe de la requête PATCH est différent
                     // du mot de passe haché déjà en base.
@@ -100,6 +108,16 @@ public class UserEvents {
         }
     }
 
+    @HandleAfterSave
+    public void handleUserUpdated(User user) {
+        userPrincipalCache.removeUserFromCache(user.getEmail());
+    }
+
+    @HandleAfterDelete
+    public void handleUserDeleted(User user) {
+        userPrincipalCache.removeUserFromCache(user.getEmail());
+    }
+
     @HandleBeforeDelete
     public void handleUserDelete(User user) {
         Authentication auth =
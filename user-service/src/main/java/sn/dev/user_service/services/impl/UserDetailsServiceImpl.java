@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,12 +13,14 @@ import org.springframework.web.server.ResponseStatusException;
 import sn.dev.user_service.data.entities.User;
 import sn.dev.user_service.data.entities.UserPrincipal;
 import sn.dev.user_service.data.repositories.UserRepositories;
+import sn.dev.user_service.services.cache.UserPrincipalCache;
 
 @Service
 @AllArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepositories userRepositories;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     public UserDetails loadUserByUsername(String mail) throws UsernameNotFoundException {
@@ -31,4 +34,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return new UserPrincipal(user);
     }
+
+    /**
+     * Called by the DaoAuthenticationProvider after a successful login when the stored hash needs upgrading.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepositories.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("username not found"));
+        user.setPassword(newEncodedPassword);
+        userRepositories.save(user);
+        userPrincipalCache.removeUserFromCache(user.getEmail());
+        return new UserPrincipal(user);
+    }
 }
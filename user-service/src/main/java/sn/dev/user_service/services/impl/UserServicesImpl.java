@@ -1,8 +1,14 @@
 package sn.dev.user_service.services.impl;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,14 +18,20 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import sn.dev.user_service.data.entities.Role;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
 import sn.dev.user_service.data.repositories.UserRepositories;
 import sn.dev.user_service.exceptions.UserAlreadyExistsException;
 import sn.dev.user_service.services.JWTServices;
 import sn.dev.user_service.services.UserServices;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class UserServicesImpl implements UserServices {
@@ -28,22 +40,24 @@ public class UserServicesImpl implements UserServices {
     private final JWTServices jwtServices;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final MongoTemplate mongoTemplate;
 
     @Override
-    public String login(User user) {
+    public LoginResponse login(User user) {
+        Authentication authentication;
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword()));
-            if (authentication.isAuthenticated()) {
-                return jwtServices.generateToken(authentication, user.getId());
-            }
         } catch (AuthenticationException e) {
-            System.out.println(e.getMessage());
-            System.out.println(user);
-            System.out.println(Arrays.stream(e.getStackTrace()).toList());
+            log.debug("Login failed for {}: {}", user.getEmail(), e.getMessage());
             throw new AuthenticationCredentialsNotFoundException("Invalid username or password");
         }
-        return "fail";
+        if (!authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            throw new AuthenticationCredentialsNotFoundException("Invalid username or password");
+        }
+        String token = jwtServices.generateToken(authentication, userPrincipal.getId());
+        return new LoginResponse(userPrincipal, token);
     }
 
     @Override
@@ -65,11 +79,49 @@ public class UserServicesImpl implements UserServices {
         return userRepositories.findAllByRole(Role.SELLER);
     }
 
+    @Override
+    public Optional<User> findSellerById(String id) {
+        return userRepositories.findWithoutPasswordByIdAndRole(id, Role.SELLER);
+    }
+
+    @Override
+    public List<User> findSellersAfter(String afterId, int size) {
+        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        if (afterId == null || afterId.isBlank()) {
+            return userRepositories.findPageByRole(Role.SELLER, pageable);
+        }
+        return userRepositories.findPageByRoleAfterId(Role.SELLER, afterId, pageable);
+    }
+
+    @Override
+    public Stream<User> streamSellers() {
+        return userRepositories.streamByRole(Role.SELLER);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return userRepositories.findAllWithoutPasswordByIdIn(new LinkedHashSet<>(ids));
+    }
+
     @Override
     public Page<User> findAllUsers(Pageable pageable) {
         return userRepositories.findAll(pageable);
     }
 
+    @Override
+    public Page<User> findAllUsers(Pageable pageable, Collection<String> fields) {
+        Query query = new Query().with(pageable);
+        fields.stream()
+                .filter(field -> !"password".equals(field))
+                .forEach(field -> query.fields().include(field));
+        List<User> users = mongoTemplate.find(query, User.class);
+        // Unfiltered listing: the collection metadata count avoids scanning for the total
+        return PageableExecutionUtils.getPage(users, pageable, () -> mongoTemplate.estimatedCount(User.class));
+    }
+
     @Override
     public User createUser(User user) {
         // Vérifier si l'email existe déjà
@@ -2,10 +2,14 @@ package sn.dev.user_service.web.controllers;
 
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sn.dev.user_service.web.dto.requests.LoginRequests;
 import sn.dev.user_service.web.dto.requests.UserRequests;
 import sn.dev.user_service.web.dto.responses.LoginResponse;
+import sn.dev.user_service.web.dto.responses.UserCursorPage;
+import sn.dev.user_service.web.dto.responses.UserListingResponse;
 import sn.dev.user_service.web.dto.responses.UserResponse;
+import sn.dev.user_service.web.dto.responses.UserSummary;
 
 import java.util.List;
 
@@ -14,6 +18,12 @@ public interface UserControllers {
     ResponseEntity<LoginResponse> login(LoginRequests loginRequests);
     ResponseEntity<UserResponse> getUser(String userID);
     ResponseEntity<CollectionModel<UserResponse>> getUsers(int page, int size, String sortBy, String sortDirection);
+    ResponseEntity<UserListingResponse> getUsersCompact(int page, int size, String sortBy, String sortDirection, String fields);
+    ResponseEntity<UserListingResponse> getUsersCompactByAccept(int page, int size, String sortBy, String sortDirection, String fields);
     ResponseEntity<List<UserResponse>> getAllSeller();
+    ResponseEntity<UserCursorPage> getSellerPage(String after, int size);
+    ResponseEntity<UserSummary> getSeller(String id);
+    ResponseEntity<StreamingResponseBody> streamSellers();
+    ResponseEntity<List<UserResponse>> getUsersByIds(List<String> ids);
     ResponseEntity<UserResponse> register(UserRequests userRequests);
 }
@@ -1,6 +1,8 @@
 package sn.dev.user_service.web.controllers.impl;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -8,10 +10,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import sn.dev.user_service.data.entities.User;
 import sn.dev.user_service.services.UserServices;
@@ -19,28 +23,39 @@ import sn.dev.user_service.web.controllers.UserControllers;
 import sn.dev.user_service.web.dto.requests.LoginRequests;
 import sn.dev.user_service.web.dto.requests.UserRequests;
 import sn.dev.user_service.web.dto.responses.LoginResponse;
+import sn.dev.user_service.web.dto.responses.PageMetadata;
+import sn.dev.user_service.web.dto.responses.UserCursorPage;
+import sn.dev.user_service.web.dto.responses.UserListingResponse;
 import sn.dev.user_service.web.dto.responses.UserResponse;
+import sn.dev.user_service.web.dto.responses.UserSummary;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @AllArgsConstructor
 public class UserControllersImpl implements UserControllers {
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final int MAX_SELLER_PAGE_SIZE = 1000;
+    // Accept: application/vnd.buy01.users.compact+json is equivalent to ?view=compact
+    public static final String COMPACT_USERS_MEDIA_TYPE = "application/vnd.buy01.users.compact+json";
+    private static final List<String> COMPACT_FIELDS = List.of("id", "name", "email", "role", "avatar");
+
     private final UserServices userServices;
-    private final UserDetailsService userDetailsService;
+    private final ObjectMapper objectMapper;
 
     @Override
     @PostMapping("api/users/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequests loginRequests) {
-        String userID = userServices.findByEmail(loginRequests.getEmail()).getId();
-        User credentialsUser = loginRequests.toEntity();
-        credentialsUser.setId(userID);
-        String token = userServices.login(credentialsUser);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(credentialsUser.getEmail());
-        LoginResponse loginResponse = new LoginResponse(userDetails, token);
+        LoginResponse loginResponse = userServices.login(loginRequests.toEntity());
         return ResponseEntity.ok(loginResponse);
     }
 
@@ -124,6 +139,72 @@ public class UserControllersImpl implements UserControllers {
         return ResponseEntity.ok(collectionModel);
     }
 
+    //    Mode compact: ni liens HATEOAS par élément ni liens de pagination, seuls les champs demandés sont lus en base
+    @Override
+    @GetMapping(value = "api/users/custom", params = "view=compact")
+    public ResponseEntity<UserListingResponse> getUsersCompact(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String fields) {
+
+        List<String> selectedFields = parseFields(fields);
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Page<User> userPage = userServices.findAllUsers(pageable, selectedFields);
+
+        List<Map<String, Object>> content = userPage.getContent().stream()
+                .map(user -> toFieldMap(user, selectedFields))
+                .collect(Collectors.toList());
+        PageMetadata metadata = new PageMetadata(userPage.getSize(), userPage.getTotalElements(),
+                userPage.getTotalPages(), userPage.getNumber());
+        return ResponseEntity.ok(new UserListingResponse(content, metadata));
+    }
+
+    @Override
+    @GetMapping(value = "api/users/custom", produces = COMPACT_USERS_MEDIA_TYPE)
+    public ResponseEntity<UserListingResponse> getUsersCompactByAccept(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String fields) {
+        return getUsersCompact(page, size, sortBy, sortDirection, fields);
+    }
+
+    // fields=id,email -> champs triés dans l'ordre canonique, tous les champs publics si absent
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return COMPACT_FIELDS;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        if (!COMPACT_FIELDS.containsAll(requested)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown field in " + requested + ", allowed: " + COMPACT_FIELDS);
+        }
+        return COMPACT_FIELDS.stream().filter(requested::contains).toList();
+    }
+
+    private static Map<String, Object> toFieldMap(User user, List<String> fields) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> item.put(field, user.getId());
+                case "name" -> item.put(field, user.getName());
+                case "email" -> item.put(field, user.getEmail());
+                case "role" -> item.put(field, user.getRole());
+                case "avatar" -> item.put(field, user.getAvatar());
+                default -> throw new IllegalArgumentException(field);
+            }
+        }
+        return item;
+    }
+
     //    Cette méthode retourne une liste simple sans HATEOAS pour des cas d'utilisation spécifiques exemple les autres service
     @Override
     @GetMapping("api/users/seller")
@@ -135,6 +216,70 @@ public class UserControllersImpl implements UserControllers {
         return ResponseEntity.ok(userResponses);
     }
 
+    //    Annuaire des vendeurs paginé par curseur (keyset sur _id): coût constant quelle que soit la page
+    @Override
+    @GetMapping("api/users/seller/page")
+    public ResponseEntity<UserCursorPage> getSellerPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") int size) {
+        if (size < 1 || size > MAX_SELLER_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_SELLER_PAGE_SIZE);
+        }
+        // Un élément de plus pour savoir s'il reste une page sans requête de comptage
+        List<User> sellers = userServices.findSellersAfter(after, size + 1);
+        boolean hasNext = sellers.size() > size;
+        List<UserSummary> content = sellers.stream()
+                .limit(size)
+                .map(UserSummary::new)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+        return ResponseEntity.ok(new UserCursorPage(content, nextCursor));
+    }
+
+    //    Fiche publique d'un vendeur (page produit, visiteurs anonymes compris): 404 si l'id n'est pas un vendeur
+    @Override
+    @GetMapping("api/users/seller/{id}")
+    public ResponseEntity<UserSummary> getSeller(@PathVariable String id) {
+        User seller = userServices.findSellerById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Seller not found: " + id));
+        return ResponseEntity.ok(new UserSummary(seller));
+    }
+
+    //    Tous les vendeurs en NDJSON (un objet JSON par ligne), écrits au fil du curseur Mongo sans tout charger en mémoire
+    @Override
+    @GetMapping(value = "api/users/seller/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSellers() {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<User> sellers = userServices.streamSellers()) {
+                Iterator<User> iterator = sellers.iterator();
+                while (iterator.hasNext()) {
+                    // writeValueAsBytes: writeValue(OutputStream) fermerait le flux de la réponse
+                    outputStream.write(objectMapper.writeValueAsBytes(new UserSummary(iterator.next())));
+                    outputStream.write('\n');
+                }
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    //    Lookup groupée pour les autres services: un seul appel au lieu d'un GET par utilisateur
+    @Override
+    @PostMapping("api/users/batch")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestBody List<String> ids) {
+        if (ids != null && ids.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many ids (max " + MAX_BATCH_IDS + " per request)");
+        }
+        List<UserResponse> userResponses = userServices.findAllByIds(ids).stream()
+                .map(UserResponse::new)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(userResponses);
+    }
+
     @Override
     @PostMapping("api/users")
     public ResponseEntity<UserResponse> register(@RequestBody UserRequests userRequests) {
@@ -0,0 +1,16 @@
+package sn.dev.user_service.web.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// nextCursor is the id to pass as "after" for the following page, null on the last page
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserCursorPage {
+    private List<UserSummary> content;
+    private String nextCursor;
+}
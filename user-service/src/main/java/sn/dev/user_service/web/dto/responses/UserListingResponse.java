@@ -0,0 +1,17 @@
+package sn.dev.user_service.web.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Compact user listing: each item only carries the requested fields, no HATEOAS links
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserListingResponse {
+    private List<Map<String, Object>> content;
+    private PageMetadata page;
+}
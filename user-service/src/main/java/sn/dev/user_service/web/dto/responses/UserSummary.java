@@ -0,0 +1,23 @@
+package sn.dev.user_service.web.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sn.dev.user_service.data.entities.User;
+
+// Plain user view for service-to-service listings: same fields as UserResponse, no HATEOAS links
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummary {
+    private String id;
+    private String name;
+    private String email;
+    private String role;
+    private String avatar;
+
+    public UserSummary(User user) {
+        this(user.getId(), user.getName(), user.getEmail(),
+                user.getRole() == null ? null : user.getRole().toString(), user.getAvatar());
+    }
+}
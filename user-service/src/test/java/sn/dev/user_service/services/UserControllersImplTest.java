@@ -11,14 +11,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.server.ResponseStatusException;
 import sn.dev.user_service.data.entities.*;
 import sn.dev.user_service.web.controllers.impl.UserControllersImpl;
 import sn.dev.user_service.web.dto.requests.LoginRequests;
 import sn.dev.user_service.web.dto.responses.LoginResponse;
+import sn.dev.user_service.web.dto.responses.UserCursorPage;
+import sn.dev.user_service.web.dto.responses.UserListingResponse;
 import sn.dev.user_service.web.dto.responses.UserResponse;
+import sn.dev.user_service.web.dto.responses.UserSummary;
 
 import java.util.List;
 
@@ -30,9 +31,6 @@ class UserControllersImplTest {
     @Mock
     private UserServices userServices;
 
-    @Mock
-    private UserDetailsService userDetailsService;
-
     @InjectMocks
     private UserControllersImpl userControllers;
 
@@ -51,15 +49,10 @@ class UserControllersImplTest {
         mockUser.setEmail("john@example.com");
         mockUser.setPassword("password123");
 
-        when(userServices.findByEmail("john@example.com")).thenReturn(mockUser);
-        when(userServices.login(any(sn.dev.user_service.data.entities.User.class)))
-                .thenReturn("fake-jwt-token");
+        mockUser.setRole(Role.CLIENT);
 
-        UserDetails mockUserDetails = User.withUsername("john@example.com")
-                .password("password123")
-                .authorities("ROLE_USER")
-                .build();
-        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(mockUserDetails);
+        when(userServices.login(any(sn.dev.user_service.data.entities.User.class)))
+                .thenReturn(new LoginResponse(new UserPrincipal(mockUser), "fake-jwt-token"));
 
         // when
         ResponseEntity<LoginResponse> response = userControllers.login(loginRequests);
@@ -68,6 +61,7 @@ class UserControllersImplTest {
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals("fake-jwt-token", response.getBody().getToken());
+        assertEquals("123", response.getBody().getId());
 
     }
 
@@ -123,4 +117,75 @@ class UserControllersImplTest {
         assertEquals(2, response.getBody().getContent().size());
         assertTrue(response.getBody().hasLinks()); // self link exists
     }
+
+    @Test
+    void testGetSellerPage() {
+        System.out.println("TEST SELLER PAGE CONTROLLER");
+        // given - size + 1 vendeurs renvoyés: il reste une page
+        List<sn.dev.user_service.data.entities.User> sellers = new java.util.ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            sn.dev.user_service.data.entities.User seller = new sn.dev.user_service.data.entities.User();
+            seller.setId("s" + i);
+            seller.setRole(Role.SELLER);
+            sellers.add(seller);
+        }
+        when(userServices.findSellersAfter(null, 3)).thenReturn(sellers);
+        when(userServices.findSellersAfter("s2", 3)).thenReturn(sellers.subList(2, 3));
+
+        // when
+        ResponseEntity<UserCursorPage> first = userControllers.getSellerPage(null, 2);
+        ResponseEntity<UserCursorPage> last = userControllers.getSellerPage("s2", 2);
+
+        // then
+        assertEquals(2, first.getBody().getContent().size());
+        assertEquals("s2", first.getBody().getNextCursor());
+        assertEquals(1, last.getBody().getContent().size());
+        assertNull(last.getBody().getNextCursor());
+        assertThrows(ResponseStatusException.class, () -> userControllers.getSellerPage(null, 5000));
+    }
+
+    @Test
+    void testGetSeller() {
+        System.out.println("TEST GET SELLER CONTROLLER");
+        // given
+        sn.dev.user_service.data.entities.User seller = new sn.dev.user_service.data.entities.User();
+        seller.setId("s1");
+        seller.setName("Seller");
+        seller.setRole(Role.SELLER);
+        when(userServices.findSellerById("s1")).thenReturn(java.util.Optional.of(seller));
+        when(userServices.findSellerById("c1")).thenReturn(java.util.Optional.empty());
+
+        // when
+        ResponseEntity<UserSummary> response = userControllers.getSeller("s1");
+
+        // then - un client ou un id inconnu n'est pas exposé
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("Seller", response.getBody().getName());
+        assertEquals("SELLER", response.getBody().getRole());
+        ResponseStatusException notFound = assertThrows(ResponseStatusException.class,
+                () -> userControllers.getSeller("c1"));
+        assertEquals(404, notFound.getStatusCode().value());
+    }
+
+    @Test
+    void testGetUsersCompact() {
+        System.out.println("TEST COMPACT USERS CONTROLLER");
+        // given
+        sn.dev.user_service.data.entities.User user = new sn.dev.user_service.data.entities.User();
+        user.setId("1");
+        user.setEmail("bob@example.com");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userServices.findAllUsers(any(Pageable.class), eq(List.of("id", "email"))))
+                .thenReturn(new PageImpl<>(List.of(user), pageable, 1));
+
+        // when - ordre des champs demandé sans importance
+        ResponseEntity<UserListingResponse> response = userControllers.getUsersCompact(0, 10, "id", "asc", "email, id");
+
+        // then
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of("id", "email"), List.copyOf(response.getBody().getContent().get(0).keySet()));
+        assertEquals(1, response.getBody().getPage().getTotalElements());
+        assertThrows(ResponseStatusException.class,
+                () -> userControllers.getUsersCompact(0, 10, "id", "asc", "id,password"));
+    }
 }
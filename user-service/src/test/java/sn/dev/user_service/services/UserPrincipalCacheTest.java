@@ -0,0 +1,52 @@
+package sn.dev.user_service.services;
+
+import org.junit.jupiter.api.Test;
+import sn.dev.user_service.data.entities.Role;
+import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
+import sn.dev.user_service.services.cache.UserPrincipalCache;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    @Test
+    void putThenGet_returnsPrincipalUntilEvicted() {
+        UserPrincipalCache cache = new UserPrincipalCache(Duration.ofMinutes(1), 10);
+        UserPrincipal principal = principal("a@example.com");
+
+        cache.putUserInCache(principal);
+        assertSame(principal, cache.getUserFromCache("a@example.com"));
+
+        cache.removeUserFromCache("a@example.com");
+        assertNull(cache.getUserFromCache("a@example.com"));
+    }
+
+    @Test
+    void expiredEntry_isNotReturned() {
+        UserPrincipalCache cache = new UserPrincipalCache(Duration.ofNanos(1), 10);
+        cache.putUserInCache(principal("a@example.com"));
+
+        assertNull(cache.getUserFromCache("a@example.com"));
+    }
+
+    @Test
+    void fullCache_skipsNewEntries() {
+        UserPrincipalCache cache = new UserPrincipalCache(Duration.ofMinutes(1), 1);
+        cache.putUserInCache(principal("a@example.com"));
+        cache.putUserInCache(principal("b@example.com"));
+
+        assertNotNull(cache.getUserFromCache("a@example.com"));
+        assertNull(cache.getUserFromCache("b@example.com"));
+    }
+
+    private UserPrincipal principal(String email) {
+        User user = new User();
+        user.setId(email);
+        user.setEmail(email);
+        user.setRole(Role.CLIENT);
+        return new UserPrincipal(user);
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,9 +20,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import sn.dev.user_service.data.entities.Role;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
 import sn.dev.user_service.data.repositories.UserRepositories;
 import sn.dev.user_service.exceptions.UserAlreadyExistsException;
 import sn.dev.user_service.services.impl.UserServicesImpl;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
 import java.util.Arrays;
 import java.util.List;
@@ -44,6 +48,9 @@ public class UserServicesTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private UserServicesImpl userServicesImpl;
 
@@ -53,19 +60,29 @@ public class UserServicesTest {
         user.setEmail("test@example.com");
         user.setPassword("password");
 
+        User stored = new User();
+        stored.setId("user-id-123");
+        stored.setEmail("test@example.com");
+        stored.setRole(Role.CLIENT);
+        UserPrincipal principal = new UserPrincipal(stored);
+
         String expectedToken = "mocked_jwt_token";
 
         Authentication authentication = Mockito.mock(Authentication.class);
         Mockito.when(authenticationManager.authenticate(Mockito.any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         Mockito.when(authentication.isAuthenticated()).thenReturn(true);
+        Mockito.when(authentication.getPrincipal()).thenReturn(principal);
 
-        Mockito.when(jwtServices.generateToken(Mockito.any(Authentication.class), Mockito.isNull())).thenReturn(expectedToken);
+        Mockito.when(jwtServices.generateToken(authentication, "user-id-123")).thenReturn(expectedToken);
 
-        String result = userServicesImpl.login(user);
+        LoginResponse result = userServicesImpl.login(user);
 
-        Assertions.assertEquals(expectedToken, result);
+        // The principal loaded during authentication provides the id, email and role, no extra lookup
+        Assertions.assertEquals(expectedToken, result.getToken());
+        Assertions.assertEquals("user-id-123", result.getId());
+        Assertions.assertEquals(List.of("CLIENT"), result.getRole());
         Mockito.verify(authenticationManager, Mockito.times(1)).authenticate(Mockito.any(UsernamePasswordAuthenticationToken.class));
-        Mockito.verify(jwtServices, Mockito.times(1)).generateToken(Mockito.any(Authentication.class), Mockito.isNull());
+        Mockito.verifyNoInteractions(userRepositories);
     }
 
 
@@ -87,7 +104,7 @@ public class UserServicesTest {
     }
 
     @Test
-    void login_AuthenticationNotAuthenticated_ReturnsFail() {
+    void login_AuthenticationNotAuthenticated_ThrowsException() {
         // Given
         User user = new User();
         user.setEmail("test@example.com");
@@ -98,11 +115,8 @@ public class UserServicesTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(false);
 
-        // When
-        String result = userServicesImpl.login(user);
-
-        // Then
-        assertEquals("fail", result);
+        // When / Then
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> userServicesImpl.login(user));
         verify(jwtServices, never()).generateToken(any(), any());
     }
 
@@ -231,6 +245,47 @@ public class UserServicesTest {
         assertTrue(foundSellers.isEmpty());
     }
 
+    @Test
+    void findAllByIds_DeduplicatesIdsAndUsesPasswordlessQuery() {
+        // Given
+        User seller = new User();
+        seller.setId("id-1");
+        seller.setRole(Role.SELLER);
+        when(userRepositories.findAllWithoutPasswordByIdIn(anyCollection())).thenReturn(List.of(seller));
+
+        // When
+        List<User> found = userServicesImpl.findAllByIds(List.of("id-1", "id-1", "unknown"));
+
+        // Then
+        assertEquals(1, found.size());
+        verify(userRepositories).findAllWithoutPasswordByIdIn(argThat(ids -> ids.size() == 2));
+        verify(userRepositories, never()).findAllById(any());
+    }
+
+    @Test
+    void findAllByIds_EmptyInput_SkipsDatabase() {
+        assertTrue(userServicesImpl.findAllByIds(List.of()).isEmpty());
+        verify(userRepositories, never()).findAllWithoutPasswordByIdIn(any());
+    }
+
+    @Test
+    void findAllUsers_WithFields_ProjectsAndNeverReadsPassword() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(new User()));
+
+        // When
+        Page<User> page = userServicesImpl.findAllUsers(pageable, List.of("id", "email", "password"));
+
+        // Then - page partielle: pas de comptage
+        assertEquals(1, page.getTotalElements());
+        verify(mongoTemplate).find(argThat((Query query) ->
+                query.getFieldsObject().containsKey("email")
+                        && !query.getFieldsObject().containsKey("password")
+                        && query.getLimit() == 10), eq(User.class));
+        verify(mongoTemplate, never()).estimatedCount(User.class);
+    }
+
     @Test
     void createUser_Success_ReturnsCreatedUser() {
         // Given
@@ -302,22 +357,28 @@ public class UserServicesTest {
     void testLogin_SuccessfulAuthentication_WithUserId() {
         // Given
         User user = new User();
-        user.setId("user-id-123");
         user.setEmail("test@example.com");
         user.setPassword("password");
 
+        // The token's userID claim comes from the authenticated principal, not from the request
+        User stored = new User();
+        stored.setId("user-id-123");
+        stored.setEmail("test@example.com");
+        stored.setRole(Role.SELLER);
+
         String expectedToken = "mocked_jwt_token_with_id";
 
         Authentication authentication = mock(Authentication.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(stored));
         when(jwtServices.generateToken(any(Authentication.class), eq("user-id-123"))).thenReturn(expectedToken);
 
         // When
-        String result = userServicesImpl.login(user);
+        LoginResponse result = userServicesImpl.login(user);
 
         // Then
-        assertEquals(expectedToken, result);
+        assertEquals(expectedToken, result.getToken());
         verify(jwtServices, times(1)).generateToken(any(Authentication.class), eq("user-id-123"));
     }
 